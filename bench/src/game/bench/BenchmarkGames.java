@@ -0,0 +1,69 @@
+package game.bench;
+
+import game.GameModel;
+import game.core.EntityType;
+import game.core.SpaceObject;
+import game.ui.UI;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the games and stub UI shared by the benchmarks.
+ */
+final class BenchmarkGames {
+    static final int SEED = 2002;
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * Creates a seeded game holding the ship and the given number of other objects.
+     * Objects are placed at random cells of the board, so the same count and mix
+     * always produce the same game.
+     *
+     * @param entityCount the number of objects other than the ship
+     * @param mix the mix of object types to create
+     * @return the populated model
+     */
+    static GameModel populate(int entityCount, EntityMix mix) {
+        GameModel model = new GameModel(text -> { });
+        model.setEffectLogger(text -> { });
+        model.setRandomSeed(SEED);
+        model.addObject(model.getShip());
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < entityCount; i++) {
+            int x = random.nextInt(GameModel.GAME_WIDTH);
+            int y = random.nextInt(GameModel.GAME_HEIGHT);
+            model.addObject(EntityType.create(mix.typeOf(i), x, y));
+        }
+        return model;
+    }
+
+    /**
+     * Creates a UI that draws nothing. Rendering still calls render() on every object,
+     * as a real UI would, and every other method does nothing.
+     * A proxy is used so the stub does not depend on the rest of the UI interface.
+     *
+     * @return the stub UI
+     */
+    static UI stubUi() {
+        return (UI) Proxy.newProxyInstance(UI.class.getClassLoader(), new Class<?>[] {UI.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("render")) {
+                        for (Object object : (List<?>) args[0]) {
+                            ((SpaceObject) object).render();
+                        }
+                        return null;
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("equals") ? proxy == args[0]
+                                : method.getName().equals("hashCode")
+                                ? System.identityHashCode(proxy) : "StubUI";
+                    }
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,42 @@
+package game.bench;
+
+import game.core.EntityType;
+
+/**
+ * Mixes of object types used to populate benchmark games.
+ * Each mix is a list of type ids that objects are drawn from in turn.
+ */
+public enum EntityMix {
+    /**
+     * Only asteroids, the most common spawn.
+     */
+    ASTEROIDS(EntityType.ASTEROID),
+
+    /**
+     * Roughly the proportions spawnObjects() produces, plus the player's bullets.
+     */
+    SPAWNED(EntityType.ASTEROID, EntityType.ASTEROID, EntityType.ASTEROID, EntityType.ASTEROID,
+            EntityType.ENEMY, EntityType.ENEMY, EntityType.HEALTH_POWER_UP,
+            EntityType.SHIELD_POWER_UP, EntityType.BULLET, EntityType.BULLET),
+
+    /**
+     * Mostly bullets and enemies, the worst case for collisions that destroy objects.
+     */
+    FIREFIGHT(EntityType.BULLET, EntityType.BULLET, EntityType.ENEMY);
+
+    private final byte[] types;
+
+    EntityMix(byte... types) {
+        this.types = types;
+    }
+
+    /**
+     * Gets the type id of the nth object of this mix.
+     *
+     * @param n the position of the object in the game
+     * @return the object's type id
+     */
+    public byte typeOf(int n) {
+        return types[n % types.length];
+    }
+}
@@ -0,0 +1,129 @@
+package game.bench;
+
+import game.GameModel;
+import game.core.ObjectWithPosition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick latency of each GameModel phase, by number of objects and mix of object types.
+ * Run with "-prof gc" to also record the allocation rate of each phase.
+ *
+ * Phases that change the game first restore it to its starting objects, so each call
+ * measures one tick of the same game rather than a game drifting off the board.
+ * Restoring is measured on its own by restore(), to be subtracted from those phases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameModelBenchmark {
+    private static final int TICK = 10; // Descending enemies move on this tick
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int entityCount;
+
+    @Param({"ASTEROIDS", "SPAWNED", "FIREFIGHT"})
+    public EntityMix mix;
+
+    private GameModel sharedModel;
+
+    /**
+     * Builds the model used by benchmarks that leave the game unchanged.
+     */
+    @Setup(Level.Trial)
+    public void setUpShared() {
+        sharedModel = BenchmarkGames.populate(entityCount, mix);
+    }
+
+    /**
+     * A game changed by the benchmarks using it, which remembers its starting objects and
+     * positions so it can be put back in place without allocating.
+     */
+    @State(Scope.Thread)
+    public static class ChangingGame {
+        private GameModel model;
+        private ObjectWithPosition[] objects;
+        private int[] xs;
+        private int[] ys;
+        private long randomState;
+
+        /**
+         * Builds the game and remembers its starting state.
+         *
+         * @param benchmark the benchmark, for its parameters
+         */
+        @Setup(Level.Trial)
+        public void setUp(GameModelBenchmark benchmark) {
+            model = BenchmarkGames.populate(benchmark.entityCount, benchmark.mix);
+            objects = model.getSpaceObjects().toArray(new ObjectWithPosition[0]);
+            xs = new int[objects.length];
+            ys = new int[objects.length];
+            for (int i = 0; i < objects.length; i++) {
+                xs[i] = objects[i].getX();
+                ys[i] = objects[i].getY();
+            }
+            randomState = model.getRandomState();
+        }
+
+        /**
+         * Puts every starting object back at its starting position, with the ship at
+         * full health, and rewinds the model's random numbers.
+         */
+        void restore() {
+            model.clearObjects();
+            for (int i = 0; i < objects.length; i++) {
+                objects[i].reinit(xs[i], ys[i]);
+                model.addObject(objects[i]);
+            }
+            model.setRandomState(randomState);
+        }
+    }
+
+    @Benchmark
+    public GameModel restore(ChangingGame game) {
+        game.restore();
+        return game.model;
+    }
+
+    @Benchmark
+    public GameModel updateGame(ChangingGame game) {
+        game.restore();
+        game.model.updateGame(TICK);
+        return game.model;
+    }
+
+    @Benchmark
+    public GameModel checkCollisions(ChangingGame game) {
+        game.restore();
+        game.model.checkCollisions();
+        return game.model;
+    }
+
+    @Benchmark
+    public GameModel spawnObjects(ChangingGame game) {
+        game.restore();
+        game.model.spawnObjects();
+        return game.model;
+    }
+
+    @Benchmark
+    public List<?> getSpaceObjects() {
+        return sharedModel.getSpaceObjects();
+    }
+}
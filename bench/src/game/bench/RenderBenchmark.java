@@ -0,0 +1,54 @@
+package game.bench;
+
+import game.GameController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of GameController.renderGame() against a stub UI that renders every object,
+ * by number of objects and mix of object types.
+ * Run with "-prof gc" to also record the allocation rate of each frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int entityCount;
+
+    @Param({"ASTEROIDS", "SPAWNED", "FIREFIGHT"})
+    public EntityMix mix;
+
+    private GameController controller;
+
+    /**
+     * Builds the controller and game rendered by the benchmark.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        controller = new GameController(BenchmarkGames.stubUi(),
+                BenchmarkGames.populate(entityCount, mix));
+    }
+
+    @Benchmark
+    public GameController renderGame() {
+        controller.renderGame();
+        return controller;
+    }
+}
@@ -0,0 +1,60 @@
+package game.bench;
+
+import game.GameModel;
+import game.simulation.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a game tick in which the player fires every tick, with and without object pooling.
+ * Run with "-prof gc" to compare the allocation rate and young collections of each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SustainedFireBenchmark {
+    private static final int WARM_UP_TICKS = 1000; // Ticks run first so the board is full of bullets
+
+    @Param({"false", "true"})
+    public boolean pooling;
+
+    private GameModel model;
+    private Simulation simulation;
+
+    /**
+     * Builds a seeded game and fires until bullets are leaving the board as fast as they are fired.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        model = new GameModel(text -> { });
+        model.setEffectLogger(text -> { });
+        model.setRandomSeed(1);
+        model.setObjectPooling(pooling);
+        simulation = new Simulation(model);
+        for (int i = 0; i < WARM_UP_TICKS; i++) {
+            tick();
+        }
+    }
+
+    @Benchmark
+    public GameModel tick() {
+        model.fireBullet();
+        simulation.step();
+        return model;
+    }
+}
@@ -0,0 +1,82 @@
+package game;
+
+import game.collision.BandPartition;
+import game.core.SpaceObject;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ticks the objects of a game in parallel, one horizontal band of the board per task.
+ * Each object's tick only changes that object, so bands can be ticked independently.
+ */
+class BandedTicker {
+    private final ForkJoinPool pool;
+    private final BandPartition partition;
+    private final BandTask[] tasks;
+
+    private List<SpaceObject> objects;
+    private int tick;
+
+    /**
+     * Creates a ticker splitting a board of the given height into bands.
+     *
+     * @param pool the pool to tick bands on
+     * @param bandCount the number of bands
+     * @param height the height of the game board
+     */
+    BandedTicker(ForkJoinPool pool, int bandCount, int height) {
+        this.pool = pool;
+        this.partition = new BandPartition(bandCount, height);
+        this.tasks = new BandTask[bandCount];
+        for (int band = 0; band < bandCount; band++) {
+            tasks[band] = new BandTask(band);
+        }
+    }
+
+    /**
+     * Ticks every object in the list, returning once all bands are done.
+     *
+     * @param objects the objects to tick
+     * @param tick the current game tick
+     */
+    void tick(List<SpaceObject> objects, int tick) {
+        partition.partition(objects);
+        this.objects = objects;
+        this.tick = tick;
+
+        for (BandTask task : tasks) {
+            task.reinitialize();
+            pool.execute(task);
+        }
+        for (BandTask task : tasks) {
+            task.join();
+        }
+        this.objects = null;
+    }
+
+    /**
+     * Task ticking the objects within one band.
+     */
+    @SuppressWarnings("serial") // Never serialized, and holds the enclosing instance
+    private final class BandTask extends RecursiveAction {
+        private final int band;
+
+        /**
+         * Creates the task for a band.
+         *
+         * @param band the band index
+         */
+        BandTask(int band) {
+            this.band = band;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = partition.start(band); i < partition.end(band); i++) {
+                objects.get(partition.member(i)).tick(tick);
+            }
+        }
+    }
+}
@@ -2,14 +2,25 @@ package game;
 
 import game.core.*;
 import game.GameModel;
-import game.exceptions.BoundaryExceededException;
+import game.config.GameRules;
+import game.input.CommandQueue;
+import game.input.PlayerCommand;
+import game.metrics.GameMetrics;
+import game.metrics.GamePhase;
+import game.render.ChangeSet;
+import game.render.IncrementalRenderer;
+import game.replay.ReplayRecorder;
+import game.simulation.FrameScheduler;
 import game.ui.UI;
-import game.utility.Direction;
+import game.utility.LogLevel;
 import game.utility.Logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * The Controller handling the game flow and interactions.
@@ -21,8 +32,19 @@ public class GameController {
     private long startTime;
     private UI ui;
     private GameModel model;
-    private boolean gameRunning = true;
+    private volatile boolean gameRunning = true; // Set on the input thread when commands are queued
     private final Logger logger;
+    private int renderedShipX;
+    private int renderedShipY;
+    private int shownScore = -1;
+    private int shownHealth = -1;
+    private int shownLevel = -1;
+    private long shownSeconds = -1;
+    private ReplayRecorder recorder; // null unless the game is being recorded
+    private GameMetrics metrics; // null unless the game loop is being measured
+    private FrameScheduler frameScheduler; // null unless the game is paced by the scheduler
+    private int simulationTick; // next tick passed to the model when paced by the scheduler
+    private CommandQueue commandQueue; // null unless input is applied on the tick thread
 
     /**
      * Initializes the game controller with the given UI and Model.
@@ -34,10 +56,24 @@ public class GameController {
      * @provided
      */
     public GameController(UI ui, GameModel model) {
+        this(ui, model, ui::log);
+    }
+
+    /**
+     * Initializes the game controller with the given UI, Model and logger.
+     * Allows the controller's messages to be logged somewhere other than the UI,
+     * such as through an AsyncLogger so logging does not hold up the game loop.
+     *
+     * @param ui the UI used to draw the Game
+     * @param model the model used to maintain game information
+     * @param logger the logger for the controller's messages
+     */
+    public GameController(UI ui, GameModel model, Logger logger) {
         this.ui = ui;
         this.model = model;
         this.startTime = System.currentTimeMillis(); // Start the timer
-        this.logger = ui::log;
+        this.logger = logger;
+        model.setChangeTracking(ui instanceof IncrementalRenderer);
     }
 
     /**
@@ -74,11 +110,28 @@ public class GameController {
      *      - A call to model.spawnObjects() to handle object creation.
      *      - A call to model.levelUp() to check and handle leveling.
      *
+     * When a FrameScheduler is in use, each call is a frame instead; see useFrameScheduler().
+     * When a CommandQueue is in use, queued player commands are applied first.
+     *
      * @param tick the provided tick
      * @provided
      */
     public void onTick(int tick) {
+        if (commandQueue != null) {
+            applyQueuedCommands();
+        }
+        if (frameScheduler != null) {
+            onFrame();
+            return;
+        }
+        if (recorder != null) {
+            recorder.recordTick(tick);
+        }
         if (gameRunning) {
+            if (metrics != null) {
+                measuredTick(tick);
+                return;
+            }
             renderGame(); // Update Visual
             model.updateGame(tick); // Update GameObjects
             model.checkCollisions(); // Check for Collisions
@@ -87,21 +140,179 @@ public class GameController {
         }
     }
 
+    /**
+     * Runs the same steps as onTick(), recording how long each one takes.
+     *
+     * @param tick the provided tick
+     */
+    private void measuredTick(int tick) {
+        long start = System.nanoTime();
+        renderGame();
+        long time = metrics.endPhase(GamePhase.RENDER, start);
+        model.updateGame(tick);
+        time = metrics.endPhase(GamePhase.UPDATE, time);
+        model.checkCollisions();
+        time = metrics.endPhase(GamePhase.COLLISIONS, time);
+        model.spawnObjects();
+        time = metrics.endPhase(GamePhase.SPAWN, time);
+        model.levelUp();
+        metrics.endPhase(GamePhase.LEVEL_UP, time);
+        metrics.endTick(model, start);
+    }
+
+    /**
+     * Runs one frame paced by the frame scheduler. Simulates every tick that has fallen due,
+     * then draws the frame unless the game is still catching up. While paused, the due ticks
+     * are let pass so the game does not rush to catch up when it resumes.
+     */
+    private void onFrame() {
+        if (!gameRunning) {
+            frameScheduler.skipDueTicks(System.nanoTime());
+            return;
+        }
+
+        int due = frameScheduler.beginFrame(System.nanoTime());
+        for (int i = 0; i < due; i++) {
+            if (recorder != null) {
+                recorder.recordTick(simulationTick);
+            }
+            simulate(simulationTick++);
+        }
+
+        if (frameScheduler.endFrame(due, System.nanoTime())) {
+            if (metrics == null) {
+                renderGame();
+            } else {
+                long start = System.nanoTime();
+                renderGame();
+                metrics.endPhase(GamePhase.RENDER, start);
+            }
+        }
+    }
+
+    /**
+     * Advances the model by one tick without drawing it, measuring each step if metrics are set.
+     *
+     * @param tick the tick to pass to the model
+     */
+    private void simulate(int tick) {
+        if (metrics == null) {
+            model.updateGame(tick);
+            model.checkCollisions();
+            model.spawnObjects();
+            model.levelUp();
+            return;
+        }
+
+        long start = System.nanoTime();
+        model.updateGame(tick);
+        long time = metrics.endPhase(GamePhase.UPDATE, start);
+        model.checkCollisions();
+        time = metrics.endPhase(GamePhase.COLLISIONS, time);
+        model.spawnObjects();
+        time = metrics.endPhase(GamePhase.SPAWN, time);
+        model.levelUp();
+        metrics.endPhase(GamePhase.LEVEL_UP, time);
+        metrics.endTick(model, start);
+    }
+
+    /**
+     * Paces the game with the given scheduler from the next call to onTick(), which then
+     * marks a frame rather than a tick. The model is given consecutive ticks counted by the
+     * controller, starting from 0, and replays record those ticks rather than frames, so the
+     * game plays out the same however often frames are drawn.
+     *
+     * @param frameScheduler the scheduler to pace the game with, or null to run one tick per call
+     */
+    public void useFrameScheduler(FrameScheduler frameScheduler) {
+        this.frameScheduler = frameScheduler;
+        if (metrics != null) {
+            metrics.setFrameScheduler(frameScheduler);
+        }
+    }
+
+    /**
+     * Measures each phase of every tick from now on into the given metrics.
+     * Log events are only counted for loggers wrapped with metrics.countLogs().
+     *
+     * @param metrics the metrics to record into, or null to stop measuring
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+        if (metrics != null) {
+            metrics.setFrameScheduler(frameScheduler);
+        }
+    }
+
     /**
      * Renders the current game state by updating UI stats
      * and drawing all game objects.
+     *
+     * A UI implementing IncrementalRenderer is given only what changed since the last frame,
+     * and the model tracks changes for it. Any other UI is given the full list of objects
+     * every frame. Stats are only set when their value changes.
      */
     public void renderGame() {
         Ship playerShip = model.getShip();
+        updateStats(playerShip);
 
-        ui.setStat("Score", String.valueOf(playerShip.getScore()));
-        ui.setStat("Health", String.valueOf(playerShip.getHealth()));
-        ui.setStat("Level", String.valueOf(model.getLevel()));
-        ui.setStat("Time Survived",
-                (System.currentTimeMillis() - startTime) / 1000 + " seconds");
+        if (!model.isTrackingChanges()) {
+            ui.render(objectsToDraw());
+            return;
+        }
 
-        List<SpaceObject> objects = model.getSpaceObjects();
-        ui.render(objects);
+        ChangeSet changes = model.getChanges();
+        if (playerShip.getX() != renderedShipX || playerShip.getY() != renderedShipY) {
+            changes.recordMove(playerShip);
+            renderedShipX = playerShip.getX();
+            renderedShipY = playerShip.getY();
+        }
+
+        if (ui instanceof IncrementalRenderer renderer) {
+            if (!changes.isEmpty()) {
+                renderer.applyChanges(changes);
+            }
+        } else {
+            ui.render(objectsToDraw()); // Tracking was turned on elsewhere
+        }
+        model.clearChanges();
+    }
+
+    /**
+     * Gets the objects to give to ui.render(). Objects kept in an entity store are listed
+     * through reused views, so drawing a large store every frame does not create a view
+     * per entity; the UI draws each frame before the next is listed.
+     *
+     * @return the objects to draw
+     */
+    private List<SpaceObject> objectsToDraw() {
+        return model.isUsingEntityStore() ? model.getSpaceObjectsView() : model.getSpaceObjects();
+    }
+
+    /**
+     * Sets the UI stats whose values have changed since they were last set.
+     *
+     * @param playerShip the player's ship
+     */
+    private void updateStats(Ship playerShip) {
+        if (playerShip.getScore() != shownScore) {
+            shownScore = playerShip.getScore();
+            ui.setStat("Score", String.valueOf(shownScore));
+        }
+        if (playerShip.getHealth() != shownHealth) {
+            shownHealth = playerShip.getHealth();
+            ui.setStat("Health", String.valueOf(shownHealth));
+        }
+        if (model.getLevel() != shownLevel) {
+            shownLevel = model.getLevel();
+            ui.setStat("Level", String.valueOf(shownLevel));
+        }
+
+        long seconds = (System.currentTimeMillis() - startTime) / 1000;
+        if (seconds != shownSeconds) {
+            shownSeconds = seconds;
+            ui.setStat("Time Survived", seconds + " seconds");
+        }
     }
 
     /**
@@ -111,45 +322,111 @@ public class GameController {
      * @param input the player's input string
      */
     public void handlePlayerInput(String input) {
-        Ship playerShip = model.getShip();
-
         if (input == null || input.isEmpty()) {
             return;
         }
 
-        String upperInput = input.toUpperCase();
+        PlayerCommand command = PlayerCommand.fromInput(input);
+        if (command == null) {
+            logger.log("Invalid input. Use W, A, S, D, F, or P.");
+            return;
+        }
+        if (commandQueue != null) {
+            if (command == PlayerCommand.PAUSE) {
+                pauseGame(); // A paused loop never runs onTick(), so it could not resume
+            }
+            if (!commandQueue.offer(command)) {
+                logger.log("Too many commands queued. Input ignored.");
+            }
+            return;
+        }
+        if (recorder != null) {
+            recorder.recordInput(command);
+        }
+        applyCommand(command);
+    }
 
-        // try movements first to prevent boundary obstruction
-        try {
-            switch (upperInput) {
-                case "W":
-                    playerShip.move(Direction.UP);
-                    logMovement();
-                    break;
-                case "A":
-                    playerShip.move(Direction.LEFT);
-                    logMovement();
-                    break;
-                case "S":
-                    playerShip.move(Direction.DOWN);
-                    logMovement();
-                    break;
-                case "D":
-                    playerShip.move(Direction.RIGHT);
-                    logMovement();
-                    break;
-                case "F":
-                    model.fireBullet();
-                    break;
-                case "P":
-                    pauseGame();
-                    break;
-                default:
-                    logger.log("Invalid input. Use W, A, S, D, F, or P.");
+    /**
+     * Hands player input over to the thread running the game through the given queue.
+     * handlePlayerInput() then only parses and queues commands, whichever thread ui.onKey
+     * calls it on, and onTick() applies them in the order they were entered, so the model
+     * is only ever changed by the thread running the game. Pausing is the exception: it is
+     * applied straight away, as it only changes the game loop, and is queued only to be
+     * recorded. Commands still in a queue being replaced are applied first.
+     *
+     * @param commandQueue the queue to pass commands through, or null to apply them as they arrive
+     */
+    public void setCommandQueue(CommandQueue commandQueue) {
+        if (this.commandQueue != null) {
+            applyQueuedCommands();
+        }
+        this.commandQueue = commandQueue;
+    }
 
+    /**
+     * Records and carries out every command waiting in the command queue.
+     * Pauses are only recorded, as they were carried out when they were entered.
+     */
+    private void applyQueuedCommands() {
+        PlayerCommand command;
+        while ((command = commandQueue.poll()) != null) {
+            if (recorder != null) {
+                recorder.recordInput(command);
             }
-        } catch (BoundaryExceededException e) {
-            // Handle movement beyond game boundaries
+            if (command != PlayerCommand.PAUSE) {
+                applyCommand(command);
+            }
+        }
+    }
+
+    /**
+     * Carries out a player's command.
+     *
+     * @param command the command to carry out
+     */
+    private void applyCommand(PlayerCommand command) {
+        switch (command) {
+            case FIRE:
+                model.fireBullet();
+                break;
+            case PAUSE:
+                pauseGame();
+                break;
+            default:
+                GameRules rules = model.getRules();
+                int result = model.getShip().tryMove(command.getDirection(),
+                        rules.getWidth(), rules.getHeight(), rules.getShipBoundary());
+                if (result != Controllable.BLOCKED) {
+                    logMovement();
+                }
+        }
+    }
+
+    /**
+     * Starts recording the game to a replay file, which ReplayPlayer can re-run.
+     * Should be called before the first tick. If the model has no random seed yet,
+     * a seed is chosen and set so that the game can be replayed. The game's rules, a spawn
+     * planner set up with model.useSpawnPlanner() and its free lane and occupancy settings are
+     * recorded too, so the replay can only be played by the same rules.
+     *
+     * @param path the file to write the replay to
+     * @throws IOException if the file cannot be opened
+     */
+    public void startRecording(Path path) throws IOException {
+        if (!model.hasRandomSeed()) {
+            model.setRandomSeed(new Random().nextInt());
+        }
+        recorder = new ReplayRecorder(path, model);
+    }
+
+    /**
+     * Stops recording, writing the game's current score, health and level as its final state.
+     * Has no effect if the game is not being recorded.
+     */
+    public void stopRecording() {
+        if (recorder != null) {
+            recorder.finish(model);
+            recorder = null;
         }
     }
 
@@ -168,8 +445,8 @@ public class GameController {
      */
     private void logMovement() {
         Ship playerShip = model.getShip();
-        logger.log("Core.Ship moved to ("
-                + playerShip.getX() + ", " + playerShip.getY() + ")");
+        logger.log(LogLevel.INFO, "Core.Ship moved to (%d, %d)",
+                playerShip.getX(), playerShip.getY());
     }
 
     /**
@@ -1,13 +1,32 @@
 package game;
 
+import game.collision.BandedCollisionDetector;
+import game.collision.CollisionDetector;
+import game.collision.CollisionMatrix;
+import game.collision.IndexedCollisionHandler;
+import game.collision.LayeredCollisionDetector;
+import game.collision.SpatialHashCollisionDetector;
+import game.config.GameRules;
 import game.core.*;
+import game.entity.EntityStore;
+import game.entity.EntityView;
+import game.entity.EntityViewList;
+import game.entity.OccupancyGrid;
+import game.pool.EntityPools;
+import game.render.ChangeSet;
+import game.spawn.CounterRandom;
+import game.spawn.SpawnPlanner;
+import game.utility.LogLevel;
 import game.utility.Logger;
+import game.utility.StatefulRandom;
 import game.core.SpaceObject;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents the game information and state. Stores and manipulates the game state.
@@ -25,13 +44,44 @@ public class GameModel {
     public static final double ENEMY_SPAWN_RATE = 0.5; // Percentage of asteroid spawn chance
     public static final double POWER_UP_SPAWN_RATE = 0.25; // Percentage of asteroid spawn chance
 
-    private final Random random = new Random(); // ONLY USED IN this.spawnObjects()
+    private final StatefulRandom random = new StatefulRandom(); // ONLY USED IN this.spawnObjects()
     private final List<SpaceObject> allSpaceObjects;
+    private final List<SpaceObject> spaceObjectsView; // read-only view of allSpaceObjects
     private final Ship playerShip;
     private final Logger logger;
+    private Logger effectLogger = System.out::println; // where power-up effect messages go
+    private final GameRules rules;
+    private final IndexedCollisionHandler collisionHandler = this::resolveCollision;
+    private final BitSet pendingDespawn = new BitSet(); // indices of objects destroyed this tick
+    private final IndexedCollisionHandler storeCollisionHandler = this::resolveStoreCollision;
+    private final SpaceObject[] storeColliders = new SpaceObject[EntityType.COUNT];
+    private final CollisionMatrix collisionRules = new CollisionMatrix(EntityType.COUNT);
+    private final ChangeSet changes = new ChangeSet();
+    private final List<SpaceObject> releasedObjects = new ArrayList<>(); // removed, not yet pooled
 
+    private CollisionDetector collisionDetector;
+    private BandedTicker bandedTicker; // null when objects are ticked sequentially
+    private EntityStore entityStore; // null unless useEntityStore() has been called
+    private SpatialHashCollisionDetector storeDetector;
+    private boolean shipInStore;
+    private EntityViewList[] storeViews; // lists handed out in turn by getSpaceObjectsView()
+    private int nextStoreViews;
+    private EntityPools pools; // null unless object pooling is on
+    private SpawnPlanner spawnPlanner; // null when spawning with random
+    private OccupancyGrid occupancy; // null unless occupancy tracking is on
+    private boolean freeLaneSpawning;
+    private long spawnStream;
+    private boolean trackChanges;
+    private int[] previousXs = new int[0];
+    private int[] previousYs = new int[0];
+    private final long[] spawnCounts = new long[EntityType.COUNT];
+    private long collisionHits;
     private int currentLevel;
     private double currentSpawnRate;
+    private double enemySpawnRate;
+    private double powerUpSpawnRate;
+    private int randomSeed;
+    private boolean seeded;
 
     /**
      * Models a game, storing and modifying data relevant to the game.
@@ -46,11 +96,154 @@ public class GameModel {
      * @param logger a functional interface for passing information between classes.
      */
     public GameModel(Logger logger) {
+        this(logger, new Ship());
+    }
+
+    /**
+     * Models a game played by the given rules, such as a larger board loaded from a file.
+     * A new ship starts in the middle of the board, which is (5,10) on the default board.
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param rules the rules of the game (cannot be null)
+     * @throws NullPointerException if the rules are null
+     */
+    public GameModel(Logger logger, GameRules rules) {
+        this(logger, createShip(rules), rules);
+    }
+
+    /**
+     * Creates a ship with full health in the middle of the board the rules describe.
+     *
+     * @param rules the rules giving the board size (cannot be null)
+     * @return the new ship
+     * @throws NullPointerException if the rules are null
+     */
+    private static Ship createShip(GameRules rules) {
+        Objects.requireNonNull(rules, "GameRules cannot be null");
+        return new Ship(rules.getWidth() / 2, rules.getHeight() / 2, Ship.MAX_HEALTH);
+    }
+
+    /**
+     * Models a game played with the given ship, such as a ship restored from a snapshot.
+     * The ship is not added to the game; call addObject() to add it.
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param playerShip the player's ship (cannot be null)
+     * @throws NullPointerException if the ship is null
+     */
+    public GameModel(Logger logger, Ship playerShip) {
+        this(logger, playerShip, GameRules.defaults());
+    }
+
+    /**
+     * Models a game played with the given ship by the given rules.
+     * The ship is not added to the game; call addObject() to add it.
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param playerShip the player's ship (cannot be null)
+     * @param rules the rules of the game (cannot be null)
+     * @throws NullPointerException if the ship or rules are null
+     */
+    public GameModel(Logger logger, Ship playerShip, GameRules rules) {
         this.logger = logger;
-        this.playerShip = new Ship();
+        this.playerShip = Objects.requireNonNull(playerShip, "Ship cannot be null");
+        this.rules = Objects.requireNonNull(rules, "GameRules cannot be null");
         this.allSpaceObjects = new ArrayList<>();
+        this.spaceObjectsView = Collections.unmodifiableList(allSpaceObjects);
         this.currentLevel = START_LEVEL;
-        this.currentSpawnRate = START_SPAWN_RATE;
+        setLevelSpawnRates(START_LEVEL);
+        this.collisionDetector = new LayeredCollisionDetector();
+        registerCollisionRules();
+    }
+
+    /**
+     * Registers the effects of the built-in objects colliding: power-ups apply their effect
+     * to the ship, asteroids and enemies damage it, and bullets destroy enemies along with
+     * themselves.
+     */
+    private void registerCollisionRules() {
+        collisionRules.register(EntityType.SHIP, EntityType.HEALTH_POWER_UP,
+                (ship, powerUp, shipIndex, powerUpIndex) -> applyPowerUp(ship, powerUp));
+        collisionRules.register(EntityType.SHIP, EntityType.SHIELD_POWER_UP,
+                (ship, powerUp, shipIndex, powerUpIndex) -> applyPowerUp(ship, powerUp));
+        collisionRules.register(EntityType.SHIP, EntityType.ASTEROID,
+                (ship, asteroid, shipIndex, asteroidIndex) ->
+                        ((Ship) ship).takeDamage(rules.getAsteroidDamage()));
+        collisionRules.register(EntityType.SHIP, EntityType.ENEMY,
+                (ship, enemy, shipIndex, enemyIndex) ->
+                        ((Ship) ship).takeDamage(rules.getEnemyDamage()));
+        collisionRules.register(EntityType.BULLET, EntityType.ENEMY,
+                (bullet, enemy, bulletIndex, enemyIndex) -> {
+                    destroy(bulletIndex);
+                    destroy(enemyIndex);
+                });
+    }
+
+    /**
+     * Applies a power-up's effect to the ship, logging built-in power-ups' messages to
+     * this game's effect logger.
+     *
+     * @param ship the ship
+     * @param powerUp the power-up it collided with
+     */
+    private void applyPowerUp(SpaceObject ship, SpaceObject powerUp) {
+        if (powerUp instanceof PowerUp builtIn) {
+            builtIn.applyEffect((Ship) ship, effectLogger);
+        } else {
+            ((PowerUpEffect) powerUp).applyEffect((Ship) ship);
+        }
+    }
+
+    /**
+     * Sets where messages about power-up effects applied in this game are logged.
+     * They are printed to System.out unless set otherwise, as power-ups always have, which
+     * happens on the thread running the game. Pass an AsyncLogger to print them off that
+     * thread instead; the model does not start one itself, as it would need closing.
+     *
+     * @param effectLogger the logger for effect messages
+     * @throws NullPointerException if effectLogger is null
+     */
+    public void setEffectLogger(Logger effectLogger) {
+        this.effectLogger = Objects.requireNonNull(effectLogger, "Logger cannot be null");
+    }
+
+    /**
+     * Gets the table of collision effects, so rules can be added or replaced, such as for
+     * new types of object. Rules are passed the indices of the objects in the game's list,
+     * or their entity store slots when the store is in use; the ship's index in the store
+     * is -1.
+     *
+     * @return the collision rules
+     */
+    public CollisionMatrix getCollisionRules() {
+        return collisionRules;
+    }
+
+    /**
+     * Destroys the object at the given index once collisions have been handled: in the list,
+     * by marking it for removal, or in the entity store, by killing its slot.
+     *
+     * @param index the index of the object, or its entity store slot
+     */
+    private void destroy(int index) {
+        if (entityStore != null) {
+            if (occupancy != null && entityStore.isAlive(index)) {
+                occupancy.remove(entityStore.getX(index), entityStore.getY(index),
+                        entityStore.getType(index));
+            }
+            entityStore.kill(index);
+        } else {
+            pendingDespawn.set(index);
+        }
+    }
+
+    /**
+     * Gets the rules the game is played by.
+     *
+     * @return the game's rules
+     */
+    public GameRules getRules() {
+        return rules;
     }
 
     /**
@@ -63,6 +256,91 @@ public class GameModel {
      */
     public void setRandomSeed(int seed) {
         this.random.setSeed(seed);
+        this.randomSeed = seed;
+        this.seeded = true;
+        if (spawnPlanner != null) {
+            useSpawnPlanner(spawnStream);
+        }
+    }
+
+    /**
+     * Makes spawnObjects() decide spawns with a SpawnPlanner rather than a Random.
+     * The planner is seeded from the random seed and the given stream, so games run in
+     * parallel can share a seed and still spawn independently by using different streams.
+     * Calling setRandomSeed() afterwards seeds the planner again from the start.
+     * Spawn rates above 100% spawn more than one object of a kind per tick.
+     *
+     * @param stream the stream id, such as the index of the game among those run in parallel
+     */
+    public void useSpawnPlanner(long stream) {
+        long seed = seeded ? randomSeed : random.nextLong();
+        this.spawnStream = stream;
+        this.spawnPlanner = new SpawnPlanner(CounterRandom.forSeed(seed).stream(stream),
+                rules.getWidth());
+    }
+
+    /**
+     * Sets the planner spawnObjects() decides spawns with, such as one restored from a snapshot.
+     *
+     * @param spawnPlanner the planner, or null to decide spawns with a Random again
+     */
+    public void setSpawnPlanner(SpawnPlanner spawnPlanner) {
+        this.spawnPlanner = spawnPlanner;
+    }
+
+    /**
+     * Gets the planner spawnObjects() decides spawns with.
+     *
+     * @return the planner, or null if spawns are decided with a Random
+     */
+    public SpawnPlanner getSpawnPlanner() {
+        return spawnPlanner;
+    }
+
+    /**
+     * Gets the stream id last passed to useSpawnPlanner().
+     *
+     * @return the stream id, or 0 if useSpawnPlanner() has not been called
+     */
+    public long getSpawnStream() {
+        return spawnStream;
+    }
+
+    /**
+     * Checks if setRandomSeed() has been called.
+     *
+     * @return true if the game's randomness comes from a known seed, false otherwise
+     */
+    public boolean hasRandomSeed() {
+        return seeded;
+    }
+
+    /**
+     * Gets the seed last passed to setRandomSeed().
+     *
+     * @return the seed, or 0 if no seed has been set
+     */
+    public int getRandomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * Gets the internal state of the game's random number generator.
+     * Passing it to setRandomState() makes the game spawn the same objects from this point on.
+     *
+     * @return the generator state
+     */
+    public long getRandomState() {
+        return random.getState();
+    }
+
+    /**
+     * Restores the game's random number generator to a state returned by getRandomState().
+     *
+     * @param state the generator state
+     */
+    public void setRandomState(long state) {
+        random.setState(state);
     }
 
     /**
@@ -73,117 +351,761 @@ public class GameModel {
      */
     public void addObject(SpaceObject object) {
         Objects.requireNonNull(object, "SpaceObject cannot be null");
-        allSpaceObjects.add(object);
+        if (entityStore != null) {
+            addToStore(object);
+        } else {
+            allSpaceObjects.add(object);
+            if (trackChanges) {
+                changes.recordSpawn(object);
+            }
+        }
+        if (occupancy != null && object != playerShip) {
+            occupancy.add(object.getX(), object.getY(), object.getTypeId());
+        }
+    }
+
+    /**
+     * Removes every object from the game, including the player ship.
+     * Removed objects are recorded and pooled as if destroyed, and nothing is allocated,
+     * so a game can be reset to a known set of objects without building a new model.
+     */
+    public void clearObjects() {
+        if (entityStore != null) {
+            for (int i = 0; i < entityStore.size(); i++) {
+                entityStore.kill(i);
+            }
+            entityStore.cull(rules.getHeight());
+            shipInStore = false;
+        } else {
+            for (int i = 0; i < allSpaceObjects.size(); i++) {
+                removed(allSpaceObjects.get(i));
+            }
+            allSpaceObjects.clear();
+        }
+        pendingDespawn.clear();
+        if (occupancy != null) {
+            occupancy.clear();
+        }
+    }
+
+    /**
+     * Sets whether spawned, moved and despawned objects are recorded for drawing.
+     * Turning tracking on records every object already in the game as spawned.
+     * Changes build up until clearChanges() is called, so whoever turns tracking on
+     * must clear the changes regularly.
+     *
+     * @param trackChanges true to record changes, false to stop recording them
+     */
+    public void setChangeTracking(boolean trackChanges) {
+        if (trackChanges && !this.trackChanges) {
+            for (int i = 0; i < allSpaceObjects.size(); i++) {
+                changes.recordSpawn(allSpaceObjects.get(i));
+            }
+        }
+        this.trackChanges = trackChanges;
+        if (!trackChanges) {
+            changes.clear();
+        }
+    }
+
+    /**
+     * Checks if changes are being recorded. Changes are never recorded while
+     * objects are kept in an entity store, as its entities are not objects.
+     *
+     * @return true if getChanges() reflects every change to the game, false otherwise
+     */
+    public boolean isTrackingChanges() {
+        return trackChanges && entityStore == null;
+    }
+
+    /**
+     * Gets the changes recorded since clearChanges() was last called.
+     *
+     * @return the recorded changes, which are empty if change tracking is off
+     */
+    public ChangeSet getChanges() {
+        return changes;
+    }
+
+    /**
+     * Forgets the recorded changes, once they have been drawn.
+     */
+    public void clearChanges() {
+        changes.clear();
+        if (trackChanges) {
+            returnReleasedObjects();
+        }
+    }
+
+    /**
+     * Turns reuse of removed objects on or off. When on, bullets, asteroids, enemies and
+     * power-ups that leave the game are returned to pools, and new ones are taken from the
+     * pools rather than created, so a game in a steady state allocates no objects.
+     *
+     * Removed objects are only reused once nothing can still be drawing them: after the next
+     * clearChanges() while changes are tracked, otherwise at the start of the next updateGame().
+     * Objects from getSpaceObjects() must not be kept past then.
+     *
+     * @param pooling true to reuse objects, false to create new ones
+     */
+    public void setObjectPooling(boolean pooling) {
+        if (!pooling) {
+            pools = null;
+            releasedObjects.clear();
+        } else if (pools == null) {
+            pools = new EntityPools();
+        }
+    }
+
+    /**
+     * Gets the pools objects are reused from.
+     *
+     * @return the pools, or null if object pooling is off
+     */
+    public EntityPools getObjectPools() {
+        return pools;
+    }
+
+    /**
+     * Turns tracking of which cells hold objects on or off. While on, the model keeps an
+     * OccupancyGrid up to date as objects spawn, move and despawn, which answers what is on
+     * a cell in constant time, and lets checkCollisions() skip looking for overlaps when no
+     * two objects share a cell. The grid covers the board and the row below it, where objects
+     * stay for a tick before being removed. The player ship is not recorded, as it moves on
+     * player input at any time; its position is read from the ship itself.
+     * Objects other than the ship must only move while the model updates them.
+     *
+     * @param tracking true to track occupancy, false to stop and drop the grid
+     */
+    public void setOccupancyTracking(boolean tracking) {
+        if (!tracking) {
+            occupancy = null;
+            freeLaneSpawning = false;
+            return;
+        }
+        if (occupancy != null) {
+            return;
+        }
+        occupancy = new OccupancyGrid(rules.getWidth(), rules.getHeight() + 1);
+        if (entityStore != null) {
+            trackStoreEntities(true);
+            return;
+        }
+        for (int i = 0; i < allSpaceObjects.size(); i++) {
+            SpaceObject object = allSpaceObjects.get(i);
+            if (object != playerShip) {
+                occupancy.add(object.getX(), object.getY(), object.getTypeId());
+            }
+        }
+    }
+
+    /**
+     * Gets the grid of which cells hold objects. The grid is kept up to date by the model
+     * and must not be changed by anything else.
+     *
+     * @return the grid, or null if occupancy tracking is off
+     */
+    public OccupancyGrid getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Sets whether new objects spawn in the first empty column of the top row at or after
+     * the column drawn for them, rather than on top of whatever is already there. Spawns are
+     * skipped only when the whole row is full. Draws the same random numbers either way, but
+     * games play out differently once an object is moved to a free lane.
+     * Turning this on turns on occupancy tracking.
+     *
+     * @param freeLaneSpawning true to spawn in free lanes, false to spawn where drawn
+     */
+    public void setFreeLaneSpawning(boolean freeLaneSpawning) {
+        if (freeLaneSpawning) {
+            setOccupancyTracking(true);
+        }
+        this.freeLaneSpawning = freeLaneSpawning;
+    }
+
+    /**
+     * Checks if objects spawn in free lanes.
+     *
+     * @return true if objects spawn in free lanes, false if they spawn where drawn
+     */
+    public boolean isFreeLaneSpawning() {
+        return freeLaneSpawning;
+    }
+
+    /**
+     * Records every live entity in the entity store on the occupancy grid, or removes them.
+     *
+     * @param add true to record the entities, false to remove them
+     */
+    private void trackStoreEntities(boolean add) {
+        for (int i = 0; i < entityStore.size(); i++) {
+            if (!entityStore.isAlive(i)) {
+                continue;
+            }
+            if (add) {
+                occupancy.add(entityStore.getX(i), entityStore.getY(i), entityStore.getType(i));
+            } else {
+                occupancy.remove(entityStore.getX(i), entityStore.getY(i), entityStore.getType(i));
+            }
+        }
+    }
+
+    /**
+     * Returns objects removed from the game to their pools, now that nothing refers to them.
+     */
+    private void returnReleasedObjects() {
+        if (pools == null) {
+            return;
+        }
+        for (int i = 0; i < releasedObjects.size(); i++) {
+            pools.release(releasedObjects.get(i));
+        }
+        releasedObjects.clear();
+    }
+
+    /**
+     * Records that an object has been removed from the game, so it can be drawn as removed
+     * and later reused.
+     *
+     * @param spaceObject the removed object
+     */
+    private void removed(SpaceObject spaceObject) {
+        if (trackChanges) {
+            changes.recordDespawn(spaceObject);
+        }
+        if (pools != null) {
+            releasedObjects.add(spaceObject);
+        }
+    }
+
+    /**
+     * Adds a new object of a built-in type, taking it from a pool when pooling is on.
+     * When the entity store is in use, the entity is added to the store without an object.
+     * Asteroids and enemies descend at the rules' move period.
+     *
+     * @param type the EntityType id of the object
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     */
+    private void spawn(byte type, int x, int y) {
+        if (entityStore != null) {
+            entityStore.add(type, x, y);
+            if (occupancy != null) {
+                occupancy.add(x, y, type);
+            }
+            return;
+        }
+        SpaceObject object = pools != null ? pools.acquire(type, x, y) : EntityType.create(type, x, y);
+        if (object instanceof DescendingEnemy descending) {
+            descending.setMovePeriod(rules.getEnemyMovePeriod());
+        }
+        addObject(object);
     }
 
     /**
      * Gets a copy of all space objects currently in the game.
+     * When an entity store is in use, the player ship is listed first,
+     * followed by a new read-only EntityView of every live entity; code that lists the
+     * objects every frame should use getSpaceObjectsView() instead.
      *
      * @return an immutable list of space objects
      */
     public List<SpaceObject> getSpaceObjects() {
-        return List.copyOf(allSpaceObjects);
+        if (entityStore == null) {
+            return List.copyOf(allSpaceObjects);
+        }
+
+        List<SpaceObject> views = new ArrayList<>(entityStore.size() + 1);
+        if (shipInStore) {
+            views.add(playerShip);
+        }
+        for (int i = 0; i < entityStore.size(); i++) {
+            if (entityStore.isAlive(i)) {
+                views.add(new EntityView(entityStore.getType(i),
+                        entityStore.getX(i), entityStore.getY(i)));
+            }
+        }
+        return Collections.unmodifiableList(views);
+    }
+
+    /**
+     * Gets a read-only view of the objects in the game, without copying them, such as for
+     * drawing every frame or bots reading the board every tick. The view changes as the game
+     * does, so it must not be kept past the current tick.
+     *
+     * When an entity store is in use, lists the ship and reused EntityViews of the live
+     * entities, as getSpaceObjects() does but without allocating once the lists have grown.
+     * Two lists are handed out in turn, so a list stays valid until the call after next.
+     *
+     * @return an unmodifiable view of the space objects
+     */
+    public List<SpaceObject> getSpaceObjectsView() {
+        if (entityStore == null) {
+            return spaceObjectsView;
+        }
+        if (storeViews == null) {
+            storeViews = new EntityViewList[] {new EntityViewList(), new EntityViewList()};
+        }
+        EntityViewList views = storeViews[nextStoreViews];
+        nextStoreViews ^= 1;
+        views.refill(entityStore, shipInStore ? playerShip : null);
+        return views;
+    }
+
+    /**
+     * Gets the number of objects in the game, counting the player ship if it has been added.
+     *
+     * @return the number of objects
+     */
+    public int getObjectCount() {
+        if (entityStore == null) {
+            return allSpaceObjects.size();
+        }
+        int count = shipInStore ? 1 : 0;
+        for (int i = 0; i < entityStore.size(); i++) {
+            if (entityStore.isAlive(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies the EntityType id and position of every object into the given arrays,
+     * in the same order as getSpaceObjects(), without creating any objects.
+     *
+     * @param types receives each object's type id (EntityType.UNKNOWN for other types)
+     * @param xs receives each object's x coordinate
+     * @param ys receives each object's y coordinate
+     * @return the number of objects copied
+     * @throws IllegalArgumentException if an array is shorter than getObjectCount()
+     */
+    public int copyObjects(byte[] types, int[] xs, int[] ys) {
+        int count = getObjectCount();
+        if (types.length < count || xs.length < count || ys.length < count) {
+            throw new IllegalArgumentException("Arrays must hold " + count + " objects");
+        }
+
+        if (entityStore == null) {
+            for (int i = 0; i < count; i++) {
+                SpaceObject object = allSpaceObjects.get(i);
+                types[i] = EntityType.of(object);
+                xs[i] = object.getX();
+                ys[i] = object.getY();
+            }
+            return count;
+        }
+
+        int next = 0;
+        if (shipInStore) {
+            types[next] = EntityType.SHIP;
+            xs[next] = playerShip.getX();
+            ys[next] = playerShip.getY();
+            next++;
+        }
+        for (int i = 0; i < entityStore.size(); i++) {
+            if (entityStore.isAlive(i)) {
+                types[next] = entityStore.getType(i);
+                xs[next] = entityStore.getX(i);
+                ys[next] = entityStore.getY(i);
+                next++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Switches the model to keep its objects in an EntityStore instead of a list of objects.
+     * Objects already in the game are moved into the store. Afterwards, added objects are
+     * stored as primitives and only their type and position are kept, so the store only
+     * suits the built-in object types. The player ship stays an object, and is treated as
+     * the first object in the game when handling collisions.
+     * Has no effect if the store is already in use.
+     *
+     * @throws IllegalArgumentException if an object in the game is not a built-in type
+     */
+    public void useEntityStore() {
+        if (entityStore != null) {
+            return;
+        }
+        for (SpaceObject object : allSpaceObjects) {
+            checkStorable(object);
+        }
+
+        entityStore = new EntityStore();
+        entityStore.setMovePeriod(rules.getEnemyMovePeriod());
+        storeDetector = new SpatialHashCollisionDetector(rules.getWidth(), rules.getHeight());
+        for (byte type = 0; type < EntityType.COUNT; type++) {
+            storeColliders[type] = EntityType.create(type, 0, 0);
+        }
+        for (SpaceObject object : allSpaceObjects) {
+            addToStore(object);
+        }
+        allSpaceObjects.clear();
+    }
+
+    /**
+     * Checks if useEntityStore() has been called.
+     *
+     * @return true if objects are kept in an entity store, false if they are kept in a list
+     */
+    public boolean isUsingEntityStore() {
+        return entityStore != null;
+    }
+
+    /**
+     * Adds a space object to the entity store, or marks the player ship as in the game.
+     *
+     * @param object the space object to add
+     * @throws IllegalArgumentException if the object cannot be kept in the store
+     */
+    private void addToStore(SpaceObject object) {
+        if (object == playerShip) {
+            shipInStore = true;
+            return;
+        }
+        checkStorable(object);
+        entityStore.add(EntityType.of(object), object.getX(), object.getY());
+    }
+
+    /**
+     * Checks that a space object can be kept in the entity store.
+     *
+     * @param object the space object to check
+     * @throws IllegalArgumentException if the object is not the player ship or a built-in type
+     */
+    private void checkStorable(SpaceObject object) {
+        byte type = EntityType.of(object);
+        if (object != playerShip && (type == EntityType.UNKNOWN || type == EntityType.SHIP)) {
+            throw new IllegalArgumentException("Entity store cannot hold "
+                    + object.getClass().getSimpleName());
+        }
     }
 
     /**
      * Updates all game objects for the current tick.
-     * Removes objects that are off-screen.
+     * Removes objects that are off-screen, compacting the list in place in the same pass.
      *
      * @param tick the current game tick
      */
     public void updateGame(int tick) {
-        List<SpaceObject> offScreenObject = new ArrayList<>();
+        if (entityStore != null) {
+            if (occupancy != null) {
+                trackStoreEntities(false);
+            }
+            entityStore.tick(tick);
+            entityStore.cull(rules.getHeight());
+            if (occupancy != null) {
+                trackStoreEntities(true);
+            }
+            return;
+        }
 
-        for (SpaceObject spaceObject : allSpaceObjects) {
-            spaceObject.tick(tick);
+        if (trackChanges || occupancy != null) {
+            rememberPositions();
+        }
+        if (!trackChanges) {
+            returnReleasedObjects();
+        }
+        boolean ticked = bandedTicker != null;
+        if (ticked) {
+            bandedTicker.tick(allSpaceObjects, tick);
+        }
+
+        int kept = 0;
+        for (int i = 0; i < allSpaceObjects.size(); i++) {
+            SpaceObject spaceObject = allSpaceObjects.get(i);
+            if (!ticked) {
+                spaceObject.tick(tick);
+            }
 
-            if (spaceObject.getY() > GAME_HEIGHT) {
-                offScreenObject.add(spaceObject);
+            boolean onBoard = spaceObject.getY() >= 0 && spaceObject.getY() <= rules.getHeight();
+            if (occupancy != null && spaceObject != playerShip) {
+                moveOccupant(spaceObject, previousXs[i], previousYs[i], onBoard);
+            }
+
+            if (onBoard) {
+                allSpaceObjects.set(kept++, spaceObject);
+                if (trackChanges && (spaceObject.getX() != previousXs[i]
+                        || spaceObject.getY() != previousYs[i])) {
+                    changes.recordMove(spaceObject);
+                }
+            } else {
+                removed(spaceObject);
             }
         }
 
-        allSpaceObjects.removeAll(offScreenObject);
+        truncateSpaceObjects(kept);
     }
 
     /**
-     * Handles collision effects between two space objects.
+     * Moves an object on the occupancy grid from where it was before it was ticked.
      *
-     * @param collided the object being collided with
-     * @param collider the object doing the colliding
+     * @param spaceObject the ticked object
+     * @param previousX the object's x coordinate before it was ticked
+     * @param previousY the object's y coordinate before it was ticked
+     * @param kept true if the object stays in the game, false if it is being removed
      */
-    private void collision(SpaceObject collided, SpaceObject collider) {
-        if (collided instanceof Ship playerShip) {
+    private void moveOccupant(SpaceObject spaceObject, int previousX, int previousY, boolean kept) {
+        int x = spaceObject.getX();
+        int y = spaceObject.getY();
+        if (kept && x == previousX && y == previousY) {
+            return;
+        }
+        byte type = spaceObject.getTypeId();
+        occupancy.remove(previousX, previousY, type);
+        if (kept) {
+            occupancy.add(x, y, type);
+        }
+    }
 
-            if (collider instanceof HealthPowerUp) {
-                ((HealthPowerUp) collider).applyEffect(playerShip);
-            } else if (collider instanceof ShieldPowerUp) {
-                ((ShieldPowerUp) collider).applyEffect(playerShip);
-            } else if (collider instanceof Asteroid) {
-                playerShip.takeDamage(ASTEROID_DAMAGE);
-            } else if (collider instanceof Enemy) {
-                playerShip.takeDamage(ENEMY_DAMAGE);
-            }
+    /**
+     * Stores the position of every object before it is ticked, so moves can be recorded.
+     */
+    private void rememberPositions() {
+        int count = allSpaceObjects.size();
+        if (previousXs.length < count) {
+            previousXs = new int[Math.max(count, previousXs.length * 2)];
+            previousYs = new int[previousXs.length];
         }
+        for (int i = 0; i < count; i++) {
+            SpaceObject spaceObject = allSpaceObjects.get(i);
+            previousXs[i] = spaceObject.getX();
+            previousYs[i] = spaceObject.getY();
+        }
+    }
 
-        if (collided instanceof Bullet) {
-            if (collider instanceof Enemy) {
-                allSpaceObjects.remove(collided);
-                allSpaceObjects.remove(collider);
-            }
+    /**
+     * Drops objects from the end of the list until it holds the given number of objects.
+     * Removing from the end never shifts the list and allocates nothing.
+     *
+     * @param size the number of objects to keep
+     */
+    private void truncateSpaceObjects(int size) {
+        for (int i = allSpaceObjects.size() - 1; i >= size; i--) {
+            allSpaceObjects.remove(i);
         }
     }
 
     /**
      * Checks for and handles collisions between all game objects.
+     * Objects destroyed by a collision take no part in later collisions this tick,
+     * and are removed together once every collision has been handled.
+     * So a bullet destroys at most one enemy per tick, the one earliest in the list, even
+     * when several enemies share its cell; other enemies there survive until a later hit.
+     * Pairs are handled in list order, so the ship, which is listed first, is still damaged
+     * by an enemy that a bullet destroys in the same cell.
+     * While occupancy is tracked, nothing is checked when no two objects share a cell.
      */
     public void checkCollisions() {
-        for (int i = 0; i < allSpaceObjects.size(); i++) {
-            SpaceObject collidedObject = allSpaceObjects.get(i);
+        if (entityStore != null) {
+            checkStoreCollisions();
+            return;
+        }
+        if (occupancy != null && !occupancy.hasOverlaps()
+                && !occupancy.isOccupied(playerShip.getX(), playerShip.getY())) {
+            return;
+        }
+        collisionDetector.detect(allSpaceObjects, collisionHandler);
+        flushDespawns();
+    }
+
+    /**
+     * Removes every object marked for removal in a single in-place pass over the list.
+     */
+    private void flushDespawns() {
+        if (pendingDespawn.isEmpty()) {
+            return;
+        }
 
-            for (int j = i + 1; j < allSpaceObjects.size(); j++) {
-                SpaceObject collidingObject = allSpaceObjects.get(j);
+        int kept = 0;
+        for (int i = 0; i < allSpaceObjects.size(); i++) {
+            SpaceObject spaceObject = allSpaceObjects.get(i);
+            if (!pendingDespawn.get(i)) {
+                allSpaceObjects.set(kept++, spaceObject);
+            } else {
+                if (occupancy != null && spaceObject != playerShip) {
+                    occupancy.remove(spaceObject.getX(), spaceObject.getY(),
+                            spaceObject.getTypeId());
+                }
+                removed(spaceObject);
+            }
+        }
 
-                if (collidedObject.getX() == collidingObject.getX()
-                        && collidedObject.getY() == collidingObject.getY()) {
+        truncateSpaceObjects(kept);
+        pendingDespawn.clear();
+    }
 
-                    if (collidedObject instanceof Ship || collidedObject instanceof Bullet) {
-                        collision(collidedObject, collidingObject);
-                    } else if (collidingObject instanceof Ship
-                            || collidingObject instanceof Bullet) {
-                        collision(collidingObject, collidedObject);
-                    }
+    /**
+     * Checks for and handles collisions between the entities in the entity store.
+     * The ship's collisions are handled first, then bullets destroy enemies they overlap.
+     */
+    private void checkStoreCollisions() {
+        if (shipInStore && (occupancy == null
+                || occupancy.isOccupied(playerShip.getX(), playerShip.getY()))) {
+            for (int i = 0; i < entityStore.size(); i++) {
+                if (entityStore.isAlive(i)
+                        && isShipAtPosition(entityStore.getX(i), entityStore.getY(i))) {
+                    collisionHits++;
+                    collisionRules.collide(playerShip, storeColliders[entityStore.getType(i)], -1, i);
                 }
             }
         }
+        if (occupancy == null || occupancy.hasOverlaps()) {
+            entityStore.detectOverlaps(storeDetector, storeCollisionHandler);
+        }
+    }
+
+    /**
+     * Applies the collision rule for two overlapping entities in the entity store.
+     * Pairs including an entity that has already been killed are ignored,
+     * so each bullet can destroy at most one enemy.
+     *
+     * @param first the slot index of the first overlapping entity
+     * @param second the slot index of the second overlapping entity
+     */
+    private void resolveStoreCollision(int first, int second) {
+        collisionHits++;
+        if (entityStore.isAlive(first) && entityStore.isAlive(second)) {
+            collisionRules.collide(storeColliders[entityStore.getType(first)],
+                    storeColliders[entityStore.getType(second)], first, second);
+        }
+    }
+
+    /**
+     * Applies the collision rule for the types of two overlapping objects.
+     * Objects destroyed by the collision are marked for removal rather than removed,
+     * so the list is left untouched while collisions are being checked.
+     * Pairs including an object that has already been destroyed this tick are ignored.
+     *
+     * @param first the index of the overlapping object that appears earlier in the list
+     * @param second the index of the overlapping object that appears later in the list
+     */
+    private void resolveCollision(int first, int second) {
+        collisionHits++;
+        if (pendingDespawn.get(first) || pendingDespawn.get(second)) {
+            return;
+        }
+        collisionRules.collide(allSpaceObjects.get(first), allSpaceObjects.get(second), first, second);
+    }
+
+    /**
+     * Gets the number of overlapping pairs found by checkCollisions() so far,
+     * whether or not the overlap had any effect.
+     *
+     * @return the total number of overlapping pairs
+     */
+    public long getCollisionHits() {
+        return collisionHits;
+    }
+
+    /**
+     * Gets the number of pairs compared by the collision detector so far.
+     * When an entity store is in use, only counts the store's detector.
+     *
+     * @return the total number of pairs compared, or 0 if the detector does not count them
+     */
+    public long getCollisionPairChecks() {
+        return entityStore == null ? collisionDetector.getPairChecks() : storeDetector.getPairChecks();
+    }
+
+    /**
+     * Gets the number of objects of a type created by spawnObjects() so far.
+     *
+     * @param type the EntityType id of the objects
+     * @return the number spawned, or 0 if the type is never spawned
+     */
+    public long getSpawnCount(byte type) {
+        return type >= 0 && type < spawnCounts.length ? spawnCounts[type] : 0;
+    }
+
+    /**
+     * Sets the detector used by checkCollisions() to find overlapping objects.
+     * A BruteForceCollisionDetector can be used as a reference for the default, a
+     * LayeredCollisionDetector that only compares objects on layers that interact.
+     *
+     * @param collisionDetector the detector to use (cannot be null)
+     * @throws NullPointerException if the detector is null
+     */
+    public void setCollisionDetector(CollisionDetector collisionDetector) {
+        this.collisionDetector = Objects.requireNonNull(collisionDetector,
+                "CollisionDetector cannot be null");
+    }
+
+    /**
+     * Splits the board into horizontal bands that are ticked and checked for collisions
+     * in parallel on the given pool. Games play out exactly as they do sequentially, as
+     * long as ticking an object only changes that object, which holds for every built-in
+     * object. Has no effect on objects kept in an entity store.
+     *
+     * @param pool the pool to run bands on
+     * @param bandCount the number of bands to split the board into
+     * @throws IllegalArgumentException if bandCount is not positive
+     */
+    public void useParallelBands(ForkJoinPool pool, int bandCount) {
+        Objects.requireNonNull(pool, "ForkJoinPool cannot be null");
+        this.bandedTicker = new BandedTicker(pool, bandCount, rules.getHeight());
+        this.collisionDetector = new BandedCollisionDetector(pool, bandCount,
+                rules.getWidth(), rules.getHeight());
+    }
+
+    /**
+     * Goes back to ticking objects sequentially and finding collisions by collision layer.
+     */
+    public void useSequentialUpdates() {
+        this.bandedTicker = null;
+        this.collisionDetector = new LayeredCollisionDetector();
     }
 
     /**
      * Fires a bullet from the player's ship.
      */
     public void fireBullet() {
-        addObject(new Bullet(playerShip.getX(), playerShip.getY()));
+        spawn(EntityType.BULLET, playerShip.getX(), playerShip.getY());
         logger.log("Core.Bullet fired!");
     }
 
     /**
      * Checks if the player has reached the score threshold to level up.
      * Increases level and spawn rate if threshold is met.
+     * The threshold, spawn rates and message are looked up in the game's rules.
      */
     public void levelUp() {
-        int requiredScore = currentLevel * SCORE_THRESHOLD;
-
-        if (playerShip.getScore() >= requiredScore) {
+        if (playerShip.getScore() >= rules.getRequiredScore(currentLevel)) {
             currentLevel++;
-            currentSpawnRate += SPAWN_RATE_INCREASE;
+            setLevelSpawnRates(currentLevel);
 
-            logger.log(String.format(
-                    "Level Up! Welcome to Level %d. Spawn rate increased to %1f%%.",
-                    currentLevel,
-                    currentSpawnRate
-            ));
+            if (logger.isEnabled(LogLevel.INFO)) {
+                logger.log(rules.getLevelUpMessage(currentLevel));
+            }
         }
     }
 
+    /**
+     * Sets the asteroid spawn rate, and the enemy and power-up rates that follow from it.
+     * Used for saved rates, which need not match a level in the rules' tables.
+     *
+     * @param spawnRate the percentage chance per tick of an asteroid spawning
+     */
+    private void setSpawnRates(double spawnRate) {
+        this.currentSpawnRate = spawnRate;
+        this.enemySpawnRate = spawnRate * rules.getEnemyRatio();
+        this.powerUpSpawnRate = spawnRate * rules.getPowerUpRatio();
+    }
+
+    /**
+     * Sets the asteroid, enemy and power-up spawn rates from the rules' tables for a level.
+     *
+     * @param level the level to take the rates of
+     */
+    private void setLevelSpawnRates(int level) {
+        this.currentSpawnRate = rules.getSpawnRate(level);
+        this.enemySpawnRate = rules.getEnemySpawnRate(level);
+        this.powerUpSpawnRate = rules.getPowerUpSpawnRate(level);
+    }
+
     /**
      * Gets the current game level.
      *
@@ -193,46 +1115,120 @@ public class GameModel {
         return currentLevel;
     }
 
+    /**
+     * Gets the current spawn rate.
+     *
+     * @return the percentage chance per tick of an asteroid spawning
+     */
+    public double getSpawnRate() {
+        return currentSpawnRate;
+    }
+
+    /**
+     * Sets the level and spawn rate, such as when resuming a saved game.
+     *
+     * @param level the level to continue from (must be at least START_LEVEL)
+     * @param spawnRate the spawn rate for that level (cannot be negative)
+     * @throws IllegalArgumentException if the level or spawn rate is out of range
+     */
+    public void setProgress(int level, double spawnRate) {
+        if (level < START_LEVEL) {
+            throw new IllegalArgumentException("Level must be at least " + START_LEVEL);
+        }
+        if (!(spawnRate >= 0)) {
+            throw new IllegalArgumentException("Spawn rate cannot be negative");
+        }
+        this.currentLevel = level;
+        setSpawnRates(spawnRate);
+    }
+
     /**
      * Spawns new game objects (asteroids, enemies, power-ups) based on current spawn rates.
      */
     public void spawnObjects() {
+        if (spawnPlanner != null) {
+            spawnPlanned();
+            return;
+        }
+
         // 1. Check asteroid spawn
         boolean spawnAsteroid = random.nextInt(100) < currentSpawnRate;
         if (spawnAsteroid) {
-            int asteroidX = random.nextInt(GAME_WIDTH);
-            if (!isShipAtPosition(asteroidX, 0)) {
-                addObject(new Asteroid(asteroidX, 0));
+            int asteroidX = spawnColumn(random.nextInt(rules.getWidth()));
+            if (asteroidX >= 0) {
+                spawn(EntityType.ASTEROID, asteroidX, 0);
+                spawnCounts[EntityType.ASTEROID]++;
             }
         }
 
         // 2. Check enemy spawn
-        boolean spawnEnemy = random.nextInt(100) < currentSpawnRate * ENEMY_SPAWN_RATE;
+        boolean spawnEnemy = random.nextInt(100) < enemySpawnRate;
         if (spawnEnemy) {
             //randomizes spawn location
-            int enemyX = random.nextInt(GAME_WIDTH);
+            int enemyX = spawnColumn(random.nextInt(rules.getWidth()));
             // checks that enemy doesn't appear in player
-            if (!isShipAtPosition(enemyX, 0)) {
-                addObject(new Enemy(enemyX, 0));
+            if (enemyX >= 0) {
+                spawn(EntityType.ENEMY, enemyX, 0);
+                spawnCounts[EntityType.ENEMY]++;
             }
         }
 
         // 3. Check power-up spawn
-        boolean spawnPowerUp = random.nextInt(100) < currentSpawnRate * POWER_UP_SPAWN_RATE;
+        boolean spawnPowerUp = random.nextInt(100) < powerUpSpawnRate;
         if (spawnPowerUp) {
             //randomizes spawn location
-            int powerUpX = random.nextInt(GAME_WIDTH);
+            int powerUpX = spawnColumn(random.nextInt(rules.getWidth()));
             //prevents power ups from spawning in ship
-            if (!isShipAtPosition(powerUpX, 0)) {
+            if (powerUpX >= 0) {
                 if (random.nextBoolean()) {
-                    addObject(new ShieldPowerUp(powerUpX, 0));
+                    spawn(EntityType.SHIELD_POWER_UP, powerUpX, 0);
+                    spawnCounts[EntityType.SHIELD_POWER_UP]++;
                 } else {
-                    addObject(new HealthPowerUp(powerUpX, 0));
+                    spawn(EntityType.HEALTH_POWER_UP, powerUpX, 0);
+                    spawnCounts[EntityType.HEALTH_POWER_UP]++;
                 }
             }
         }
     }
 
+    /**
+     * Spawns the objects the spawn planner decides on for this tick.
+     * As with spawnObjects(), objects that would appear on the player ship are not spawned.
+     */
+    private void spawnPlanned() {
+        int count = spawnPlanner.next(currentSpawnRate, enemySpawnRate, powerUpSpawnRate);
+        for (int i = 0; i < count; i++) {
+            int x = spawnColumn(spawnPlanner.getX(i));
+            if (x >= 0) {
+                byte type = spawnPlanner.getType(i);
+                spawn(type, x, 0);
+                spawnCounts[type]++;
+            }
+        }
+    }
+
+    /**
+     * Picks the column of the top row to spawn an object in, given the column drawn for it.
+     * Objects never spawn on the player ship. With free-lane spawning, the object is moved
+     * to the first empty column at or after the drawn one.
+     *
+     * @param x the drawn column
+     * @return the column to spawn in, or -1 if the object should not spawn
+     */
+    private int spawnColumn(int x) {
+        if (!freeLaneSpawning) {
+            return isShipAtPosition(x, 0) ? -1 : x;
+        }
+        int column = occupancy.nextFreeColumn(0, x);
+        if (column >= 0 && isShipAtPosition(column, 0)) {
+            column = occupancy.nextFreeColumn(0, (column + 1) % rules.getWidth());
+            if (isShipAtPosition(column, 0)) {
+                column = -1; // The ship is on the only empty cell
+            }
+        }
+        return column;
+    }
+
     /**
      * Checks if the player ship is at the specified position.
      *
@@ -0,0 +1,419 @@
+package game.balance;
+
+import game.GameModel;
+import game.bot.Agent;
+import game.bot.BotHarness;
+import game.simulation.Simulation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays every point of a ParameterGrid with many seeds, in parallel, to see how rule changes
+ * affect how long games last and how far they get.
+ *
+ * Sessions are numbered so that each seed is played at every point before the next seed, and
+ * worker threads take the next unplayed session as they finish one. Each result is appended
+ * to sessions.csv as soon as it is known and added to per-point totals, which are rewritten
+ * to summary.csv every few seconds and at the end. Nothing else is kept per session except
+ * one bit marking it as played, so memory stays small even for tens of millions of sessions.
+ *
+ * A sweep that is stopped can be resumed by running it again with the same output directory.
+ * The sessions already in sessions.csv are read back into the totals and skipped, and a line
+ * left half-written is dropped. sweep.properties records the sweep's settings, so a directory
+ * is never resumed with different ones.
+ */
+public class BalanceSweep {
+    public static final String SESSIONS_FILE = "sessions.csv";
+    public static final String SUMMARY_FILE = "summary.csv";
+    public static final String SETTINGS_FILE = "sweep.properties";
+    public static final String NO_BOT = "none"; // Leaves the ship idle
+
+    private static final String SESSIONS_HEADER = "point,seed,ticks,level,score,destroyed";
+    private static final long SUMMARY_PERIOD_NANOS = 10_000_000_000L; // Time between summary rewrites
+    private static final long FIRST_SEED = 1;
+
+    private final ParameterGrid grid;
+    private final int seedsPerPoint;
+    private final long maxTicks;
+    private final String bot;
+    private final int totalSessions;
+
+    private BitSet played;
+    private PointSummary[] summaries;
+    private Writer sessionsOut;
+    private Path outputDirectory;
+    private long lastSummaryWrite;
+    private volatile boolean failed;
+
+    /**
+     * Creates a sweep.
+     *
+     * @param grid the rules to compare
+     * @param seedsPerPoint the number of seeds to play at each point
+     * @param maxTicks the most ticks to run each session for
+     * @param bot the BotHarness bot playing each session, or NO_BOT for an idle ship
+     * @throws NullPointerException if grid or bot is null
+     * @throws IllegalArgumentException if seedsPerPoint or maxTicks is not positive, the bot is
+     *         unknown, or the sweep has more than Integer.MAX_VALUE sessions
+     */
+    public BalanceSweep(ParameterGrid grid, int seedsPerPoint, long maxTicks, String bot) {
+        this.grid = Objects.requireNonNull(grid, "ParameterGrid cannot be null");
+        this.bot = Objects.requireNonNull(bot, "Bot cannot be null");
+        if (seedsPerPoint <= 0 || maxTicks <= 0) {
+            throw new IllegalArgumentException("Seeds per point and max ticks must be positive");
+        }
+        long total = (long) grid.getPointCount() * seedsPerPoint;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Sweep has too many sessions");
+        }
+        createAgent(bot, FIRST_SEED); // Fail now rather than on every worker thread
+        this.seedsPerPoint = seedsPerPoint;
+        this.maxTicks = maxTicks;
+        this.totalSessions = (int) total;
+    }
+
+    /**
+     * Plays every session not already in the output directory, then writes the final summary.
+     * A sweep must only be run by one thread at a time.
+     *
+     * @param directory the directory to write results to, created if missing
+     * @param threads the number of threads to play sessions on
+     * @return the number of sessions played by this call
+     * @throws IOException if the results cannot be read or written
+     * @throws IllegalArgumentException if threads is not positive
+     * @throws IllegalStateException if the directory holds results of a different sweep
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public long run(Path directory, int threads)
+            throws IOException, InterruptedException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        Files.createDirectories(directory);
+        outputDirectory = directory;
+        checkSettings(directory.resolve(SETTINGS_FILE));
+
+        played = new BitSet(totalSessions);
+        summaries = new PointSummary[grid.getPointCount()];
+        for (int i = 0; i < summaries.length; i++) {
+            summaries[i] = new PointSummary();
+        }
+        Path sessionsPath = directory.resolve(SESSIONS_FILE);
+        int alreadyPlayed = readSessions(sessionsPath);
+
+        failed = false;
+        lastSummaryWrite = System.nanoTime();
+        AtomicLong next = new AtomicLong();
+        Throwable[] failures = new Throwable[threads];
+        try (Writer out = Files.newBufferedWriter(sessionsPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            sessionsOut = out;
+            if (Files.size(sessionsPath) == 0) {
+                out.write(SESSIONS_HEADER + "\n");
+            }
+
+            Thread[] workers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                workers[i] = new Thread(() -> {
+                    try {
+                        playSessions(next);
+                    } catch (RuntimeException | Error e) {
+                        failed = true;
+                        failures[index] = e;
+                    }
+                }, "balance-sweep-" + i);
+                workers[i].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } finally {
+            sessionsOut = null;
+        }
+
+        for (Throwable failure : failures) {
+            if (failure instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) failure).getCause();
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure != null) {
+                throw (Error) failure;
+            }
+        }
+        writeSummary();
+
+        long total = 0;
+        for (PointSummary summary : summaries) {
+            total += summary.getSessions();
+        }
+        return total - alreadyPlayed;
+    }
+
+    /**
+     * Gets the totals of a point from the last run, once it has finished.
+     *
+     * @param point the point's number
+     * @return the point's totals
+     * @throws IllegalStateException if the sweep has not been run
+     */
+    public PointSummary getSummary(int point) {
+        if (summaries == null) {
+            throw new IllegalStateException("Sweep has not been run");
+        }
+        return summaries[point];
+    }
+
+    /**
+     * Plays sessions on the calling thread until none are left.
+     *
+     * @param next the counter of the next session to claim
+     */
+    private void playSessions(AtomicLong next) {
+        int points = grid.getPointCount();
+        while (!failed) {
+            long session = next.getAndIncrement();
+            if (session >= totalSessions) {
+                return;
+            }
+            if (played.get((int) session)) {
+                continue; // Played by an earlier run
+            }
+            int point = (int) (session % points);
+            long seed = FIRST_SEED + session / points;
+
+            Simulation simulation = BotHarness.createSession(grid.getRules(point), seed,
+                    createAgent(bot, seed));
+            GameModel model = simulation.getModel();
+
+            long ticks = 0;
+            while (ticks < maxTicks && !simulation.isShipDestroyed()) {
+                simulation.step();
+                ticks++;
+            }
+            record(point, seed, ticks, model.getLevel(), model.getShip().getScore(),
+                    simulation.isShipDestroyed());
+        }
+    }
+
+    /**
+     * Appends a session's result to sessions.csv and the point's totals, rewriting the
+     * summary if it is due.
+     *
+     * @param point the point's number
+     * @param seed the session's seed
+     * @param ticks the number of ticks the session ran
+     * @param level the level reached
+     * @param score the final score
+     * @param shipDestroyed true if the ship was destroyed
+     */
+    private synchronized void record(int point, long seed, long ticks, int level, int score,
+            boolean shipDestroyed) {
+        summaries[point].add(ticks, level, score, shipDestroyed);
+        try {
+            sessionsOut.write(point + "," + seed + "," + ticks + "," + level + "," + score + ","
+                    + (shipDestroyed ? 1 : 0) + "\n");
+
+            long now = System.nanoTime();
+            if (now - lastSummaryWrite >= SUMMARY_PERIOD_NANOS) {
+                sessionsOut.flush(); // So the summary never counts sessions a resume would replay
+                writeSummary();
+                lastSummaryWrite = now;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the results of an earlier run back into the totals, dropping a half-written last
+     * line if there is one.
+     *
+     * @param path the sessions file
+     * @return the number of sessions read
+     * @throws IOException if the file cannot be read or is not a sessions file of this sweep
+     */
+    private int readSessions(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        truncateAfterLastLine(path);
+
+        int count = 0;
+        int points = grid.getPointCount();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header != null && !header.equals(SESSIONS_HEADER)) {
+                throw new IOException("Not a sessions file: " + path);
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                try {
+                    int point = Integer.parseInt(fields[0]);
+                    long seed = Long.parseLong(fields[1]);
+                    long session = (seed - FIRST_SEED) * points + point;
+                    if (fields.length != 6 || point < 0 || point >= points
+                            || session < 0 || session >= totalSessions) {
+                        throw new IOException("Session line out of range: " + line);
+                    }
+                    if (played.get((int) session)) {
+                        continue;
+                    }
+                    played.set((int) session);
+                    summaries[point].add(Long.parseLong(fields[2]), Integer.parseInt(fields[3]),
+                            Integer.parseInt(fields[4]), fields[5].equals("1"));
+                    count++;
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    throw new IOException("Malformed session line: " + line, e);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Cuts a file off after its last line break, removing any line left half-written.
+     *
+     * @param path the file
+     * @throws IOException if the file cannot be read or written
+     */
+    private static void truncateAfterLastLine(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            long end = file.length();
+            while (end > 0) {
+                file.seek(end - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            file.setLength(end);
+        }
+    }
+
+    /**
+     * Records this sweep's settings in a new directory, or checks they match those of the
+     * sweep that wrote the directory.
+     *
+     * @param path the settings file
+     * @throws IOException if the file cannot be read or written
+     * @throws IllegalStateException if the directory was written by a sweep with other settings
+     */
+    private void checkSettings(Path path) throws IOException {
+        Properties settings = new Properties();
+        for (String key : grid.getProperties().stringPropertyNames()) {
+            settings.setProperty("grid." + key, grid.getProperties().getProperty(key));
+        }
+        settings.setProperty("sweep.seedsPerPoint", Integer.toString(seedsPerPoint));
+        settings.setProperty("sweep.maxTicks", Long.toString(maxTicks));
+        settings.setProperty("sweep.bot", bot);
+
+        if (Files.exists(path)) {
+            Properties existing = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                existing.load(reader);
+            }
+            if (!existing.equals(settings)) {
+                throw new IllegalStateException("Output directory holds a sweep with other settings");
+            }
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            settings.store(writer, "Balance sweep settings");
+        }
+    }
+
+    /**
+     * Writes the totals of every point to summary.csv, replacing the file in one step so
+     * readers never see it half-written.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void writeSummary() throws IOException {
+        Path path = outputDirectory.resolve(SUMMARY_FILE);
+        Path temporary = outputDirectory.resolve(SUMMARY_FILE + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writer.write("point");
+            for (String key : grid.getVariedKeys()) {
+                writer.write("," + key);
+            }
+            writer.write(",sessions,meanTicks,ticksDeviation,minTicks,maxTicks,meanLevel,maxLevel,"
+                    + "meanScore,destroyedRate\n");
+
+            for (int point = 0; point < summaries.length; point++) {
+                PointSummary summary = summaries[point];
+                writer.write(Integer.toString(point));
+                for (String value : grid.getValues(point)) {
+                    writer.write("," + value);
+                }
+                writer.write(String.format(Locale.ROOT, ",%d,%.3f,%.3f,%d,%d,%.3f,%d,%.3f,%.4f%n",
+                        summary.getSessions(), summary.getMeanTicks(), summary.getTicksDeviation(),
+                        summary.getMinTicks(), summary.getMaxTicks(), summary.getMeanLevel(),
+                        summary.getMaxLevel(), summary.getMeanScore(), summary.getDestroyedRate()));
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Creates the bot for a session.
+     *
+     * @param bot the bot's BotHarness name, or NO_BOT
+     * @param seed the session's seed
+     * @return the bot, or null for NO_BOT
+     * @throws IllegalArgumentException if there is no bot with the name
+     */
+    private static Agent createAgent(String bot, long seed) {
+        return bot.equals(NO_BOT) ? null : BotHarness.createBot(bot, seed);
+    }
+
+    /**
+     * Runs a sweep, resuming it if the output directory already holds part of it.
+     * Arguments are a ParameterGrid .properties file, the number of seeds per point, the tick
+     * limit per session and the output directory, then optionally the number of threads and
+     * the bot (random, dodger, greedy or none, default random).
+     *
+     * @param args the command line arguments
+     * @throws IOException if the grid cannot be read or the results cannot be written
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 4) {
+            System.err.println("Usage: BalanceSweep <gridFile> <seedsPerPoint> <maxTicks> <outDir> "
+                    + "[threads] [random|dodger|greedy|none]");
+            System.exit(1);
+        }
+        ParameterGrid grid = ParameterGrid.load(Path.of(args[0]));
+        int seedsPerPoint = Integer.parseInt(args[1]);
+        long maxTicks = Long.parseLong(args[2]);
+        Path directory = Path.of(args[3]);
+        int threads = args.length > 4 ? Integer.parseInt(args[4])
+                : Runtime.getRuntime().availableProcessors();
+        String bot = args.length > 5 ? args[5] : "random";
+
+        BalanceSweep sweep = new BalanceSweep(grid, seedsPerPoint, maxTicks, bot);
+        long start = System.nanoTime();
+        long played = sweep.run(directory, threads);
+        System.out.printf("Played %d of %d sessions at %d points in %.1f s, summary in %s%n",
+                played, (long) grid.getPointCount() * seedsPerPoint, grid.getPointCount(),
+                (System.nanoTime() - start) / 1e9, directory.resolve(SUMMARY_FILE));
+    }
+}
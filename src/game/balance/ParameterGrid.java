@@ -0,0 +1,153 @@
+package game.balance;
+
+import game.config.GameRules;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A grid of GameRules to compare, read from a .properties file of rule properties where any
+ * property may list several values separated by commas:
+ * <pre>
+ * spawn.rateIncrease=3,5,8
+ * damage.enemy=10,20
+ * board.width=10
+ * </pre>
+ * Every combination of the listed values is one point of the grid, so the example has six.
+ * Points are numbered with the last varied property, in name order, changing fastest.
+ */
+public final class ParameterGrid {
+    private final Properties source;
+    private final List<String> variedKeys;
+    private final List<String[]> variedValues;
+    private final GameRules[] rules;
+    private final String[][] pointValues;
+
+    /**
+     * Builds the grid described by properties, as in the class description.
+     *
+     * @param properties the rule properties, with comma-separated values for varied properties
+     * @throws NullPointerException if properties is null
+     * @throws IllegalArgumentException if any point's rules are invalid, or the grid is too large
+     */
+    public ParameterGrid(Properties properties) {
+        Objects.requireNonNull(properties, "Properties cannot be null");
+        this.source = new Properties();
+        source.putAll(properties);
+        Properties fixed = new Properties();
+        TreeMap<String, String[]> varied = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String[] values = properties.getProperty(key).split(",");
+            for (int i = 0; i < values.length; i++) {
+                values[i] = values[i].trim();
+            }
+            if (values.length == 1) {
+                fixed.setProperty(key, values[0]);
+            } else {
+                varied.put(key, values);
+            }
+        }
+        this.variedKeys = Collections.unmodifiableList(new ArrayList<>(varied.keySet()));
+        this.variedValues = new ArrayList<>(varied.values());
+
+        int count = 1;
+        for (String[] values : variedValues) {
+            try {
+                count = Math.multiplyExact(count, values.length);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Grid has too many points");
+            }
+        }
+
+        this.rules = new GameRules[count];
+        this.pointValues = new String[count][];
+        for (int point = 0; point < count; point++) {
+            Properties pointProperties = new Properties();
+            pointProperties.putAll(fixed);
+            String[] values = new String[variedKeys.size()];
+            int rest = point;
+            for (int k = variedKeys.size() - 1; k >= 0; k--) {
+                String[] options = variedValues.get(k);
+                values[k] = options[rest % options.length];
+                rest /= options.length;
+                pointProperties.setProperty(variedKeys.get(k), values[k]);
+            }
+            pointValues[point] = values;
+            rules[point] = GameRules.fromProperties(pointProperties);
+        }
+    }
+
+    /**
+     * Reads a grid from a .properties file.
+     *
+     * @param path the file to read
+     * @return the grid in the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if any point's rules are invalid, or the grid is too large
+     */
+    public static ParameterGrid load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new ParameterGrid(properties);
+    }
+
+    /**
+     * Gets the number of points in the grid.
+     *
+     * @return the number of combinations of rule values
+     */
+    public int getPointCount() {
+        return rules.length;
+    }
+
+    /**
+     * Gets the properties the grid was built from.
+     *
+     * @return a copy of the properties, with varied values still comma-separated
+     */
+    public Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(source);
+        return copy;
+    }
+
+    /**
+     * Gets the names of the properties given more than one value, in name order.
+     *
+     * @return an unmodifiable list of the varied property names
+     */
+    public List<String> getVariedKeys() {
+        return variedKeys;
+    }
+
+    /**
+     * Gets the rules of a point.
+     *
+     * @param point the point's number
+     * @return the rules to play the point's sessions by
+     */
+    public GameRules getRules(int point) {
+        return rules[point];
+    }
+
+    /**
+     * Gets the value of each varied property at a point, in the order of getVariedKeys().
+     *
+     * @param point the point's number
+     * @return a copy of the point's values
+     */
+    public String[] getValues(int point) {
+        return pointValues[point].clone();
+    }
+}
@@ -0,0 +1,124 @@
+package game.balance;
+
+/**
+ * Running totals of the sessions played at one point of a ParameterGrid.
+ * Only totals are kept, so memory stays the same however many sessions are added.
+ */
+public class PointSummary {
+    private long sessions;
+    private long totalTicks;
+    private double totalSquaredTicks; // for the standard deviation of ticks survived
+    private long minTicks = Long.MAX_VALUE;
+    private long maxTicks;
+    private long totalLevels;
+    private int maxLevel;
+    private long totalScore;
+    private long destroyed;
+
+    /**
+     * Adds the result of a session.
+     *
+     * @param ticks the number of ticks the session ran
+     * @param level the level reached
+     * @param score the final score
+     * @param shipDestroyed true if the ship was destroyed before the tick limit
+     */
+    public void add(long ticks, int level, int score, boolean shipDestroyed) {
+        sessions++;
+        totalTicks += ticks;
+        totalSquaredTicks += (double) ticks * ticks;
+        minTicks = Math.min(minTicks, ticks);
+        maxTicks = Math.max(maxTicks, ticks);
+        totalLevels += level;
+        maxLevel = Math.max(maxLevel, level);
+        totalScore += score;
+        if (shipDestroyed) {
+            destroyed++;
+        }
+    }
+
+    /**
+     * Gets the number of sessions added.
+     *
+     * @return the session count
+     */
+    public long getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Gets the mean number of ticks survived.
+     *
+     * @return the mean ticks per session, or 0 if there are no sessions
+     */
+    public double getMeanTicks() {
+        return sessions == 0 ? 0 : (double) totalTicks / sessions;
+    }
+
+    /**
+     * Gets the standard deviation of the number of ticks survived.
+     *
+     * @return the population standard deviation, or 0 if there are no sessions
+     */
+    public double getTicksDeviation() {
+        if (sessions == 0) {
+            return 0;
+        }
+        double mean = getMeanTicks();
+        return Math.sqrt(Math.max(0, totalSquaredTicks / sessions - mean * mean));
+    }
+
+    /**
+     * Gets the fewest ticks any session ran.
+     *
+     * @return the minimum ticks, or 0 if there are no sessions
+     */
+    public long getMinTicks() {
+        return sessions == 0 ? 0 : minTicks;
+    }
+
+    /**
+     * Gets the most ticks any session ran.
+     *
+     * @return the maximum ticks
+     */
+    public long getMaxTicks() {
+        return maxTicks;
+    }
+
+    /**
+     * Gets the mean level reached.
+     *
+     * @return the mean level, or 0 if there are no sessions
+     */
+    public double getMeanLevel() {
+        return sessions == 0 ? 0 : (double) totalLevels / sessions;
+    }
+
+    /**
+     * Gets the highest level any session reached.
+     *
+     * @return the maximum level
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Gets the mean final score.
+     *
+     * @return the mean score, or 0 if there are no sessions
+     */
+    public double getMeanScore() {
+        return sessions == 0 ? 0 : (double) totalScore / sessions;
+    }
+
+    /**
+     * Gets the fraction of sessions whose ship was destroyed.
+     *
+     * @return the destroyed fraction, from 0 to 1
+     */
+    public double getDestroyedRate() {
+        return sessions == 0 ? 0 : (double) destroyed / sessions;
+    }
+}
@@ -0,0 +1,21 @@
+package game.bot;
+
+import game.input.PlayerCommand;
+
+/**
+ * An autonomous player that decides what the ship does each tick.
+ * Agents are given a BoardView of the game rather than the model, and answer with a
+ * PlayerCommand, which is applied as if the player had entered it.
+ */
+@FunctionalInterface
+public interface Agent {
+
+    /**
+     * Decides the ship's action for a tick.
+     *
+     * @param board the board as it is before the tick runs
+     * @param tick the tick about to run
+     * @return the command to apply, or null to do nothing this tick
+     */
+    PlayerCommand act(BoardView board, int tick);
+}
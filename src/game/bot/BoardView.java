@@ -0,0 +1,257 @@
+package game.bot;
+
+import game.GameModel;
+import game.core.EntityType;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.entity.OccupancyGrid;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only occupancy grid of a game board, as seen by an Agent.
+ * Each cell holds a bit for each EntityType on it, so an agent can check any cell in
+ * constant time. The grid is refilled from the model every tick without copying its
+ * list of objects, and only the cells occupied last time are cleared. When the model tracks
+ * occupancy, the view reads the model's OccupancyGrid instead and fills nothing.
+ */
+public class BoardView {
+    private static final int OTHER_BIT = OccupancyGrid.OTHER_TYPES; // Objects that are not a built-in type
+    private static final int SHIP_BIT = 1 << EntityType.SHIP;
+    private static final int HOSTILE_BITS = (1 << EntityType.ASTEROID) | (1 << EntityType.ENEMY);
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+    private int[] occupied = new int[64]; // indices of the cells set by the last update
+    private int occupiedCount;
+    private OccupancyGrid occupancy; // the model's grid, or null when cells are filled here
+    private byte[] types = new byte[0]; // buffers for reading an entity store
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int shipX;
+    private int shipY;
+    private int shipHealth;
+    private int score;
+    private int level;
+
+    /**
+     * Creates an empty view of a board of the given size.
+     *
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @throws IllegalArgumentException if width or height is not positive
+     */
+    public BoardView(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[Math.multiplyExact(width, height)];
+    }
+
+    /**
+     * Refills the view from the current state of a game.
+     *
+     * @param model the game to view
+     */
+    public void update(GameModel model) {
+        for (int i = 0; i < occupiedCount; i++) {
+            cells[occupied[i]] = 0;
+        }
+        occupiedCount = 0;
+
+        occupancy = model.getOccupancy();
+        if (occupancy == null) {
+            fill(model);
+        }
+
+        Ship ship = model.getShip();
+        shipX = ship.getX();
+        shipY = ship.getY();
+        shipHealth = ship.getHealth();
+        score = ship.getScore();
+        level = model.getLevel();
+    }
+
+    /**
+     * Marks the cell of every object in a game.
+     *
+     * @param model the game to view
+     */
+    private void fill(GameModel model) {
+        if (model.isUsingEntityStore()) {
+            int count = model.getObjectCount();
+            if (types.length < count) {
+                types = new byte[Math.max(count, types.length * 2)];
+                xs = new int[types.length];
+                ys = new int[types.length];
+            }
+            model.copyObjects(types, xs, ys);
+            for (int i = 0; i < count; i++) {
+                mark(xs[i], ys[i], types[i]);
+            }
+        } else {
+            List<SpaceObject> objects = model.getSpaceObjectsView();
+            for (int i = 0; i < objects.size(); i++) {
+                SpaceObject object = objects.get(i);
+                mark(object.getX(), object.getY(), object.getTypeId());
+            }
+        }
+    }
+
+    /**
+     * Records an object on its cell, ignoring objects off the board.
+     *
+     * @param x the object's x coordinate
+     * @param y the object's y coordinate
+     * @param type the object's EntityType id
+     */
+    private void mark(int x, int y, byte type) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return;
+        }
+        int cell = y * width + x;
+        if (cells[cell] == 0) {
+            if (occupiedCount == occupied.length) {
+                occupied = Arrays.copyOf(occupied, occupiedCount * 2);
+            }
+            occupied[occupiedCount++] = cell;
+        }
+        cells[cell] |= (byte) (type >= 0 && type < EntityType.COUNT ? 1 << type : OTHER_BIT);
+    }
+
+    /**
+     * Gets the EntityTypes on a cell, as a bit set with bit (1 << type) set for each type.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return the types on the cell, or 0 if it is empty or off the board
+     */
+    public int getTypes(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return 0;
+        }
+        if (occupancy != null) {
+            // The model's grid leaves out the ship
+            return occupancy.getTypes(x, y) | (x == shipX && y == shipY ? SHIP_BIT : 0);
+        }
+        return cells[y * width + x] & 0xFF;
+    }
+
+    /**
+     * Checks if an object of the given type is on a cell.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @param type the EntityType id
+     * @return true if an object of the type is on the cell, false otherwise
+     */
+    public boolean contains(int x, int y, byte type) {
+        return (getTypes(x, y) & (1 << type)) != 0;
+    }
+
+    /**
+     * Checks if an asteroid or enemy is on a cell.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return true if the cell holds something that damages the ship, false otherwise
+     */
+    public boolean isHostile(int x, int y) {
+        return (getTypes(x, y) & HOSTILE_BITS) != 0;
+    }
+
+    /**
+     * Checks if any asteroid or enemy is in a column between two rows.
+     *
+     * @param x the column
+     * @param fromY the first row to check
+     * @param toY the last row to check
+     * @return true if a hostile object is in the column between the rows, inclusive
+     */
+    public boolean isHostileBetween(int x, int fromY, int toY) {
+        for (int y = Math.max(fromY, 0); y <= toY && y < height; y++) {
+            if (isHostile(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a cell is on the board.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return true if the ship could move onto the cell, false if it is off the board
+     */
+    public boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Gets the number of columns on the board.
+     *
+     * @return the board width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows on the board.
+     *
+     * @return the board height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the ship's column.
+     *
+     * @return the ship's x coordinate
+     */
+    public int getShipX() {
+        return shipX;
+    }
+
+    /**
+     * Gets the ship's row.
+     *
+     * @return the ship's y coordinate
+     */
+    public int getShipY() {
+        return shipY;
+    }
+
+    /**
+     * Gets the ship's health.
+     *
+     * @return the ship's health
+     */
+    public int getShipHealth() {
+        return shipHealth;
+    }
+
+    /**
+     * Gets the ship's score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the game level.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+}
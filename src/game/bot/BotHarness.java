@@ -0,0 +1,195 @@
+package game.bot;
+
+import game.GameModel;
+import game.config.GameRules;
+import game.simulation.Simulation;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * Plays many seeded games with bots as fast as they can run, for load tests and balance tuning.
+ * Each game gets its own model and bot, so batches can run on several threads at once.
+ */
+public class BotHarness {
+    private final LongFunction<Agent> bots;
+    private final GameRules rules;
+
+    /**
+     * Creates a harness playing games by the given rules.
+     *
+     * @param bots creates the bot for a game from the game's seed
+     * @param rules the rules of every game
+     * @throws NullPointerException if either argument is null
+     */
+    public BotHarness(LongFunction<Agent> bots, GameRules rules) {
+        this.bots = Objects.requireNonNull(bots, "Bot factory cannot be null");
+        this.rules = Objects.requireNonNull(rules, "GameRules cannot be null");
+    }
+
+    /**
+     * Plays games with consecutive seeds on the calling thread. Each game runs until its ship
+     * is destroyed or it reaches the tick limit.
+     *
+     * @param games the number of games to play
+     * @param maxTicks the most ticks to run each game for
+     * @param firstSeed the seed of the first game
+     * @return a report of the games
+     * @throws IllegalArgumentException if a game's seed does not fit in an int
+     */
+    public BotReport run(int games, long maxTicks, long firstSeed) {
+        checkSeeds(games, firstSeed);
+        long start = System.nanoTime();
+        long ticks = 0;
+        long totalScore = 0;
+        long totalLevels = 0;
+        int destroyed = 0;
+
+        for (int game = 0; game < games; game++) {
+            long seed = firstSeed + game;
+            Simulation simulation = createSession(rules, seed, bots.apply(seed));
+            GameModel model = simulation.getModel();
+
+            long ran = 0;
+            while (ran < maxTicks && !simulation.isShipDestroyed()) {
+                simulation.step();
+                ran++;
+            }
+            ticks += ran;
+            totalScore += model.getShip().getScore();
+            totalLevels += model.getLevel();
+            if (simulation.isShipDestroyed()) {
+                destroyed++;
+            }
+        }
+        return new BotReport(games, ticks, System.nanoTime() - start, totalScore, totalLevels,
+                destroyed);
+    }
+
+    /**
+     * Plays games split evenly across the given number of threads.
+     *
+     * @param games the number of games to play
+     * @param maxTicks the most ticks to run each game for
+     * @param firstSeed the seed of the first game
+     * @param threads the number of threads to play on
+     * @return a report of every game, timed from the first game starting to the last ending
+     * @throws IllegalArgumentException if threads is not positive, or a game's seed does not
+     *                                  fit in an int
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public BotReport run(int games, long maxTicks, long firstSeed, int threads)
+            throws InterruptedException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        checkSeeds(games, firstSeed);
+        BotReport[] reports = new BotReport[threads];
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            int from = (int) ((long) games * i / threads);
+            int to = (int) ((long) games * (i + 1) / threads);
+            workers[i] = new Thread(() -> reports[index] = run(to - from, maxTicks, firstSeed + from),
+                    "bot-harness-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return BotReport.combine(reports, System.nanoTime() - start);
+    }
+
+    /**
+     * Sets up a headless game for a bot to play as fast as possible: a seeded model with
+     * object pooling and occupancy tracking on, and messages not logged.
+     * Occupancy tracking lets bots read the board directly, and lets ticks where nothing
+     * shares a cell skip looking for collisions.
+     *
+     * @param rules the rules of the game
+     * @param seed the game's random seed
+     * @param agent the bot playing the game
+     * @return the simulation running the game
+     * @throws IllegalArgumentException if the seed does not fit in an int
+     */
+    public static Simulation createSession(GameRules rules, long seed, Agent agent) {
+        if (seed != (int) seed) {
+            throw new IllegalArgumentException("Seed must fit in an int: " + seed);
+        }
+        GameModel model = new GameModel(text -> { }, rules);
+        model.setEffectLogger(text -> { });
+        model.setRandomSeed((int) seed);
+        model.setObjectPooling(true);
+        model.setOccupancyTracking(true);
+        Simulation simulation = new Simulation(model);
+        simulation.setAgent(agent);
+        return simulation;
+    }
+
+    /**
+     * Checks that every game in a run has a seed that fits in an int.
+     *
+     * @param games the number of games
+     * @param firstSeed the seed of the first game
+     * @throws IllegalArgumentException if a seed does not fit in an int
+     */
+    private static void checkSeeds(int games, long firstSeed) {
+        if (games > 0 && (firstSeed < Integer.MIN_VALUE
+                || firstSeed + games - 1 > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Seeds " + firstSeed + " to "
+                    + (firstSeed + games - 1) + " do not all fit in an int");
+        }
+    }
+
+    /**
+     * Creates one of the baseline bots by name.
+     *
+     * @param name random, dodger or greedy
+     * @param seed the seed of the game the bot plays
+     * @return the bot
+     * @throws IllegalArgumentException if there is no bot with the name
+     */
+    public static Agent createBot(String name, long seed) {
+        switch (name) {
+            case "random":
+                return new RandomBot(seed);
+            case "dodger":
+                return new DodgerBot();
+            case "greedy":
+                return new GreedyShooterBot();
+            default:
+                throw new IllegalArgumentException("Unknown bot: " + name);
+        }
+    }
+
+    /**
+     * Plays games with a baseline bot and prints a report.
+     * Arguments are the bot (random, dodger or greedy), the number of games, the tick limit
+     * per game, and optionally the number of threads and a GameRules .properties file.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the rules file cannot be read
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: BotHarness <random|dodger|greedy> <games> <maxTicks> "
+                    + "[threads] [rulesFile]");
+            System.exit(1);
+        }
+        String bot = args[0];
+        createBot(bot, 0); // Fail before starting any threads if the bot is unknown
+        int games = Integer.parseInt(args[1]);
+        long maxTicks = Long.parseLong(args[2]);
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        GameRules rules = args.length > 4 ? GameRules.load(Path.of(args[4])) : GameRules.defaults();
+
+        BotHarness harness = new BotHarness(seed -> createBot(bot, seed), rules);
+        BotReport report = harness.run(games, maxTicks, 1, threads);
+        System.out.println(report);
+        System.out.printf("%.0f games/s per thread%n", report.getGamesPerSecond() / threads);
+    }
+}
@@ -0,0 +1,127 @@
+package game.bot;
+
+/**
+ * Summary of a batch of games played by bots, including how fast they ran.
+ */
+public class BotReport {
+    private final int games;
+    private final long ticks;
+    private final long elapsedNanos;
+    private final long totalScore;
+    private final long totalLevels;
+    private final int destroyed;
+
+    /**
+     * Creates a report of a finished batch.
+     *
+     * @param games the number of games played
+     * @param ticks the number of ticks run across all games
+     * @param elapsedNanos the wall-clock time taken by the batch, in nanoseconds
+     * @param totalScore the sum of the final scores
+     * @param totalLevels the sum of the final levels
+     * @param destroyed the number of games that ended with the ship destroyed
+     */
+    public BotReport(int games, long ticks, long elapsedNanos, long totalScore, long totalLevels,
+                     int destroyed) {
+        this.games = games;
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.totalScore = totalScore;
+        this.totalLevels = totalLevels;
+        this.destroyed = destroyed;
+    }
+
+    /**
+     * Combines reports of batches run at the same time, such as on different threads.
+     *
+     * @param reports the reports to combine
+     * @param elapsedNanos the wall-clock time taken by all the batches together
+     * @return a report covering every game in the batches
+     */
+    public static BotReport combine(BotReport[] reports, long elapsedNanos) {
+        int games = 0;
+        long ticks = 0;
+        long totalScore = 0;
+        long totalLevels = 0;
+        int destroyed = 0;
+        for (BotReport report : reports) {
+            games += report.games;
+            ticks += report.ticks;
+            totalScore += report.totalScore;
+            totalLevels += report.totalLevels;
+            destroyed += report.destroyed;
+        }
+        return new BotReport(games, ticks, elapsedNanos, totalScore, totalLevels, destroyed);
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the number of games
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of ticks run across all games.
+     *
+     * @return the number of ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the wall-clock time taken by the batch.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of games played per second of wall-clock time.
+     *
+     * @return the game rate, or 0 if no time elapsed
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the mean final score.
+     *
+     * @return the mean score, or 0 if no games were played
+     */
+    public double getMeanScore() {
+        return games == 0 ? 0 : (double) totalScore / games;
+    }
+
+    /**
+     * Gets the mean final level.
+     *
+     * @return the mean level, or 0 if no games were played
+     */
+    public double getMeanLevel() {
+        return games == 0 ? 0 : (double) totalLevels / games;
+    }
+
+    /**
+     * Gets the number of games that ended with the ship destroyed.
+     *
+     * @return the number of games lost
+     */
+    public int getDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games, %d ticks in %.3f s (%.0f games/s), mean score %.1f, "
+                        + "mean level %.2f, %d destroyed",
+                games, ticks, elapsedNanos / 1e9, getGamesPerSecond(), getMeanScore(),
+                getMeanLevel(), destroyed);
+    }
+}
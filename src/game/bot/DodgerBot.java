@@ -0,0 +1,49 @@
+package game.bot;
+
+import game.core.EntityType;
+import game.input.PlayerCommand;
+
+/**
+ * Baseline bot that only tries to survive. It sidesteps asteroids and enemies falling
+ * towards the ship, and fires at enemies straight above it while it is safe.
+ */
+public class DodgerBot implements Agent {
+    public static final int DEFAULT_LOOKAHEAD = 3; // Rows above the ship watched for danger
+
+    private final int lookahead;
+
+    /**
+     * Creates a dodger watching DEFAULT_LOOKAHEAD rows above the ship.
+     */
+    public DodgerBot() {
+        this(DEFAULT_LOOKAHEAD);
+    }
+
+    /**
+     * Creates a dodger.
+     *
+     * @param lookahead the number of rows above the ship to watch for danger
+     * @throws IllegalArgumentException if lookahead is negative
+     */
+    public DodgerBot(int lookahead) {
+        if (lookahead < 0) {
+            throw new IllegalArgumentException("Lookahead cannot be negative");
+        }
+        this.lookahead = lookahead;
+    }
+
+    @Override
+    public PlayerCommand act(BoardView board, int tick) {
+        PlayerCommand dodge = Dodging.dodge(board, lookahead);
+        if (dodge != null) {
+            return dodge;
+        }
+        int x = board.getShipX();
+        for (int y = board.getShipY() - 1; y >= 0; y--) {
+            if (board.contains(x, y, EntityType.ENEMY)) {
+                return PlayerCommand.FIRE;
+            }
+        }
+        return null;
+    }
+}
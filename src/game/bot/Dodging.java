@@ -0,0 +1,49 @@
+package game.bot;
+
+import game.input.PlayerCommand;
+
+/**
+ * Shared movement logic for bots that keep the ship out of the path of falling objects.
+ */
+final class Dodging {
+
+    private Dodging() {
+    }
+
+    /**
+     * Checks if an asteroid or enemy is in a column close enough above the ship to hit it soon.
+     *
+     * @param board the board
+     * @param x the column to check
+     * @param lookahead the number of rows above the ship to check
+     * @return true if the column is in danger, false otherwise
+     */
+    static boolean isThreatened(BoardView board, int x, int lookahead) {
+        return board.isHostileBetween(x, board.getShipY() - lookahead, board.getShipY());
+    }
+
+    /**
+     * Picks a sideways move out of danger, if the ship's column is in danger.
+     * Moves to the side with no danger, preferring the side with more room.
+     *
+     * @param board the board
+     * @param lookahead the number of rows above the ship to check
+     * @return LEFT or RIGHT to dodge, or null if the ship is safe or cannot get clear
+     */
+    static PlayerCommand dodge(BoardView board, int lookahead) {
+        int x = board.getShipX();
+        if (!isThreatened(board, x, lookahead)) {
+            return null;
+        }
+        boolean leftClear = x > 0 && !isThreatened(board, x - 1, lookahead);
+        boolean rightClear = x < board.getWidth() - 1 && !isThreatened(board, x + 1, lookahead);
+        if (leftClear && rightClear) {
+            return x >= board.getWidth() / 2 ? PlayerCommand.LEFT : PlayerCommand.RIGHT;
+        } else if (leftClear) {
+            return PlayerCommand.LEFT;
+        } else if (rightClear) {
+            return PlayerCommand.RIGHT;
+        }
+        return null;
+    }
+}
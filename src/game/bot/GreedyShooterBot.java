@@ -0,0 +1,83 @@
+package game.bot;
+
+import game.core.EntityType;
+import game.input.PlayerCommand;
+
+/**
+ * Baseline bot that chases points. Score comes from shield power-ups, which stay where they
+ * spawn, so it flies towards the nearest one, firing at enemies lined up on the way and only
+ * stepping aside when something is about to hit it.
+ */
+public class GreedyShooterBot implements Agent {
+    private static final int LOOKAHEAD = 1; // Rows above the ship it dodges from
+
+    @Override
+    public PlayerCommand act(BoardView board, int tick) {
+        PlayerCommand dodge = Dodging.dodge(board, LOOKAHEAD);
+        if (dodge != null) {
+            return dodge;
+        }
+
+        int shipX = board.getShipX();
+        int shipY = board.getShipY();
+        if (board.contains(shipX, shipY - 1, EntityType.ENEMY)) {
+            return PlayerCommand.FIRE;
+        }
+
+        int target = findNearest(board, EntityType.SHIELD_POWER_UP);
+        if (target < 0) {
+            return null;
+        }
+        int targetX = target % board.getWidth();
+        int targetY = target / board.getWidth();
+
+        if (targetX != shipX) {
+            int nextX = targetX < shipX ? shipX - 1 : shipX + 1;
+            if (!isUnsafe(board, nextX, shipY)) {
+                return targetX < shipX ? PlayerCommand.LEFT : PlayerCommand.RIGHT;
+            }
+        }
+        if (targetY < shipY && !isUnsafe(board, shipX, shipY - 1)) {
+            return PlayerCommand.UP;
+        } else if (targetY > shipY && !isUnsafe(board, shipX, shipY + 1)) {
+            return PlayerCommand.DOWN;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the closest object of a type to the ship, by the number of moves to reach it.
+     *
+     * @param board the board
+     * @param type the EntityType id
+     * @return the cell index (y * width + x) of the closest object, or -1 if there is none
+     */
+    private static int findNearest(BoardView board, byte type) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (board.contains(x, y, type)) {
+                    int distance = Math.abs(x - board.getShipX()) + Math.abs(y - board.getShipY());
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = y * board.getWidth() + x;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if moving onto a cell would put the ship in the path of something hostile.
+     *
+     * @param board the board
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return true if the cell is off the board or in danger, false otherwise
+     */
+    private static boolean isUnsafe(BoardView board, int x, int y) {
+        return !board.isOnBoard(x, y) || board.isHostileBetween(x, y - LOOKAHEAD, y);
+    }
+}
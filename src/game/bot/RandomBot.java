@@ -0,0 +1,32 @@
+package game.bot;
+
+import game.input.PlayerCommand;
+
+import java.util.Random;
+
+/**
+ * Baseline bot that moves and fires at random, never pausing.
+ * Seeded, so a game played by it can be repeated.
+ */
+public class RandomBot implements Agent {
+    private static final PlayerCommand[] ACTIONS = {
+        PlayerCommand.UP, PlayerCommand.DOWN, PlayerCommand.LEFT, PlayerCommand.RIGHT,
+        PlayerCommand.FIRE, null
+    };
+
+    private final Random random;
+
+    /**
+     * Creates a random bot.
+     *
+     * @param seed the seed of the bot's choices
+     */
+    public RandomBot(long seed) {
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public PlayerCommand act(BoardView board, int tick) {
+        return ACTIONS[random.nextInt(ACTIONS.length)];
+    }
+}
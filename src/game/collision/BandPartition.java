@@ -0,0 +1,126 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits the objects of a game into horizontal bands of rows by their y coordinate.
+ * Objects above the board fall into the first band and objects below it into the last.
+ * Each band lists its objects' indices in list order, so work done band by band can
+ * be replayed in the same order as work done over the whole list.
+ */
+public class BandPartition {
+    private final int bandCount;
+    private final int bandHeight;
+    private final int lastRow;
+    private final int[] bandStart;
+    private final int[] bandCursor;
+
+    private int[] members = new int[0];
+    private int[] bands = new int[0];
+
+    /**
+     * Creates a partition of a board with rows 0 to height (inclusive) into equal bands.
+     *
+     * @param bandCount the number of bands
+     * @param height the height of the game board
+     * @throws IllegalArgumentException if bandCount or height is not positive
+     */
+    public BandPartition(int bandCount, int height) {
+        if (bandCount <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Band count and height must be positive");
+        }
+        this.bandCount = bandCount;
+        this.lastRow = height;
+        this.bandHeight = (height + bandCount) / bandCount; // ceil((height + 1) / bandCount)
+        this.bandStart = new int[bandCount + 1];
+        this.bandCursor = new int[bandCount];
+    }
+
+    /**
+     * Assigns every object to the band holding its current y coordinate.
+     * Objects that have moved since the last call are moved to their new band.
+     *
+     * @param objects the objects to partition
+     */
+    public void partition(List<SpaceObject> objects) {
+        int count = objects.size();
+        if (members.length < count) {
+            members = new int[Math.max(count, members.length * 2)];
+            bands = new int[members.length];
+        }
+
+        Arrays.fill(bandStart, 0);
+        for (int i = 0; i < count; i++) {
+            bands[i] = bandOf(objects.get(i).getY());
+            bandStart[bands[i] + 1]++;
+        }
+        for (int band = 0; band < bandCount; band++) {
+            bandStart[band + 1] += bandStart[band];
+            bandCursor[band] = bandStart[band];
+        }
+        for (int i = 0; i < count; i++) {
+            members[bandCursor[bands[i]]++] = i;
+        }
+    }
+
+    /**
+     * Gets the band holding the given row.
+     *
+     * @param y the y coordinate of the row
+     * @return the band index
+     */
+    public int bandOf(int y) {
+        return Math.min(Math.max(y, 0), lastRow) / bandHeight;
+    }
+
+    /**
+     * Gets the number of bands.
+     *
+     * @return the number of bands
+     */
+    public int getBandCount() {
+        return bandCount;
+    }
+
+    /**
+     * Gets the number of rows covered by each band.
+     *
+     * @return the band height
+     */
+    public int getBandHeight() {
+        return bandHeight;
+    }
+
+    /**
+     * Gets the position in the member list of the first object in a band.
+     *
+     * @param band the band index
+     * @return the start position (inclusive)
+     */
+    public int start(int band) {
+        return bandStart[band];
+    }
+
+    /**
+     * Gets the position in the member list just past the last object in a band.
+     *
+     * @param band the band index
+     * @return the end position (exclusive)
+     */
+    public int end(int band) {
+        return bandStart[band + 1];
+    }
+
+    /**
+     * Gets the list index of the object at the given position in the member list.
+     *
+     * @param position the position in the member list
+     * @return the object's index in the partitioned list
+     */
+    public int member(int position) {
+        return members[position];
+    }
+}
@@ -0,0 +1,135 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Collision detector that checks horizontal bands of the board in parallel.
+ *
+ * Objects are first assigned to bands by their current y coordinate, which moves any
+ * object that crossed into another band during the tick. Each band then finds its own
+ * overlapping pairs on a ForkJoinPool. Overlapping objects share a row, so no pair spans
+ * two bands. Finally the pairs are reported on the calling thread, band by band, with the
+ * pairs at each position in the same order as a sequential detector, so handlers see the
+ * same game as they would without bands.
+ */
+public class BandedCollisionDetector implements CollisionDetector {
+    private final ForkJoinPool pool;
+    private final BandPartition partition;
+    private final BandTask[] tasks;
+
+    private List<SpaceObject> objects;
+
+    /**
+     * Creates a detector splitting a board of the given size into bands.
+     *
+     * @param pool the pool to check bands on
+     * @param bandCount the number of bands
+     * @param width the width of the game board
+     * @param height the height of the game board
+     * @throws IllegalArgumentException if any dimension or the band count is not positive
+     */
+    public BandedCollisionDetector(ForkJoinPool pool, int bandCount, int width, int height) {
+        this.pool = pool;
+        this.partition = new BandPartition(bandCount, height);
+        this.tasks = new BandTask[bandCount];
+        for (int band = 0; band < bandCount; band++) {
+            tasks[band] = new BandTask(band,
+                    new SpatialHashCollisionDetector(width, partition.getBandHeight()));
+        }
+    }
+
+    @Override
+    public void detect(List<SpaceObject> objects, IndexedCollisionHandler handler) {
+        partition.partition(objects);
+        this.objects = objects;
+
+        for (BandTask task : tasks) {
+            task.reinitialize();
+            pool.execute(task);
+        }
+        for (BandTask task : tasks) {
+            task.join();
+        }
+        this.objects = null;
+
+        for (BandTask task : tasks) {
+            for (int i = 0; i < task.pairCount; i += 2) {
+                handler.onOverlap(task.pairs[i], task.pairs[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public long getPairChecks() {
+        long pairChecks = 0;
+        for (BandTask task : tasks) {
+            pairChecks += task.detector.getPairChecks();
+        }
+        return pairChecks;
+    }
+
+    /**
+     * Task finding the overlapping pairs within one band, recorded as list indices.
+     */
+    @SuppressWarnings("serial") // Never serialized, and holds the enclosing instance
+    private final class BandTask extends RecursiveAction {
+        private final int band;
+        private final SpatialHashCollisionDetector detector;
+        private final IndexedCollisionHandler recorder = this::record;
+
+        private int[] xs = new int[16];
+        private int[] ys = new int[16];
+        private int[] pairs = new int[16];
+        private int pairCount;
+
+        /**
+         * Creates the task for a band.
+         *
+         * @param band the band index
+         * @param detector the detector used within the band
+         */
+        BandTask(int band, SpatialHashCollisionDetector detector) {
+            this.band = band;
+            this.detector = detector;
+        }
+
+        @Override
+        protected void compute() {
+            int start = partition.start(band);
+            int size = partition.end(band) - start;
+            if (xs.length < size) {
+                xs = new int[Math.max(size, xs.length * 2)];
+                ys = new int[xs.length];
+            }
+
+            for (int i = 0; i < size; i++) {
+                SpaceObject object = objects.get(partition.member(start + i));
+                xs[i] = object.getX();
+                ys[i] = object.getY();
+            }
+
+            pairCount = 0;
+            detector.detect(xs, ys, size, recorder);
+        }
+
+        /**
+         * Records a pair found in this band, translating band positions to list indices.
+         *
+         * @param first the band position of the first object
+         * @param second the band position of the second object
+         */
+        private void record(int first, int second) {
+            if (pairCount + 2 > pairs.length) {
+                pairs = Arrays.copyOf(pairs, pairs.length * 2);
+            }
+            int start = partition.start(band);
+            pairs[pairCount++] = partition.member(start + first);
+            pairs[pairCount++] = partition.member(start + second);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+import java.util.List;
+
+/**
+ * Reference collision detector that compares every pair of objects.
+ * Runs in O(n²) time, kept so the faster detectors can be checked against it.
+ */
+public class BruteForceCollisionDetector implements CollisionDetector {
+    private long pairChecks;
+
+    @Override
+    public void detect(List<SpaceObject> objects, IndexedCollisionHandler handler) {
+        long count = objects.size();
+        pairChecks += count * (count - 1) / 2;
+
+        for (int i = 0; i < objects.size(); i++) {
+            SpaceObject collidedObject = objects.get(i);
+
+            for (int j = i + 1; j < objects.size(); j++) {
+                SpaceObject collidingObject = objects.get(j);
+
+                if (collidedObject.getX() == collidingObject.getX()
+                        && collidedObject.getY() == collidingObject.getY()) {
+                    handler.onOverlap(i, j);
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getPairChecks() {
+        return pairChecks;
+    }
+}
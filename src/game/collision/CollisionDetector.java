@@ -0,0 +1,34 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+import java.util.List;
+
+/**
+ * Strategy for finding space objects that share a position.
+ * Implementations must report the same pairs, each ordered by list position, and must
+ * report the pairs within any one position in ascending order of their first then second
+ * index, so that they can be swapped without changing the outcome of a game.
+ * The list must not be modified while pairs are being reported.
+ */
+public interface CollisionDetector {
+
+    /**
+     * Finds every pair of objects in the list that share the same x and y
+     * coordinates and passes their indices to the handler.
+     *
+     * @param objects the objects to check
+     * @param handler the handler to notify for each overlapping pair
+     */
+    void detect(List<SpaceObject> objects, IndexedCollisionHandler handler);
+
+    /**
+     * Gets the number of pairs of objects this detector has compared so far.
+     * Compared to the number of pairs reported, shows how much work the detector wastes.
+     *
+     * @return the total number of pairs compared, or 0 if the detector does not count them
+     */
+    default long getPairChecks() {
+        return 0;
+    }
+}
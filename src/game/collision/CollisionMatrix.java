@@ -0,0 +1,89 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+import java.util.Objects;
+
+/**
+ * Table of CollisionRules indexed by the type ids of the two objects that overlap.
+ * Handling a collision is two array lookups rather than a chain of instanceof checks,
+ * and a new type of object only needs its own rules registered.
+ * Pairs of types with no rule have no effect.
+ */
+public class CollisionMatrix {
+    private final CollisionRule[][] rules;
+
+    /**
+     * Creates an empty matrix for type ids from 0 to typeCount - 1.
+     *
+     * @param typeCount the number of type ids
+     * @throws IllegalArgumentException if typeCount is negative
+     */
+    public CollisionMatrix(int typeCount) {
+        if (typeCount < 0) {
+            throw new IllegalArgumentException("Type count cannot be negative");
+        }
+        this.rules = new CollisionRule[typeCount][typeCount];
+    }
+
+    /**
+     * Registers the rule for two types, in both orientations, replacing any rule already
+     * registered for them. The rule is always given the object of the first type first.
+     *
+     * @param firstType the type id of the rule's first object
+     * @param secondType the type id of the rule's second object
+     * @param rule the effect of the two colliding (cannot be null)
+     * @throws IllegalArgumentException if a type id is out of range
+     * @throws NullPointerException if the rule is null
+     */
+    public void register(byte firstType, byte secondType, CollisionRule rule) {
+        Objects.requireNonNull(rule, "CollisionRule cannot be null");
+        if (!isKnown(firstType) || !isKnown(secondType)) {
+            throw new IllegalArgumentException("Type ids must be from 0 to " + (rules.length - 1));
+        }
+        rules[firstType][secondType] = rule;
+        if (firstType != secondType) {
+            rules[secondType][firstType] = (first, second, firstIndex, secondIndex) ->
+                    rule.collide(second, first, secondIndex, firstIndex);
+        }
+    }
+
+    /**
+     * Gets the rule for two types, as seen from the first type.
+     *
+     * @param firstType the type id of the first object
+     * @param secondType the type id of the second object
+     * @return the rule, or null if the pair has no rule or a type id is out of range
+     */
+    public CollisionRule get(byte firstType, byte secondType) {
+        return isKnown(firstType) && isKnown(secondType) ? rules[firstType][secondType] : null;
+    }
+
+    /**
+     * Applies the rule for two overlapping objects, if their types have one.
+     *
+     * @param first one of the objects
+     * @param second the other object
+     * @param firstIndex the index of the first object where it is stored
+     * @param secondIndex the index of the second object where it is stored
+     * @return true if a rule was applied, false if the pair has no rule
+     */
+    public boolean collide(SpaceObject first, SpaceObject second, int firstIndex, int secondIndex) {
+        CollisionRule rule = get(first.getTypeId(), second.getTypeId());
+        if (rule == null) {
+            return false;
+        }
+        rule.collide(first, second, firstIndex, secondIndex);
+        return true;
+    }
+
+    /**
+     * Checks if a type id has a row in the matrix.
+     *
+     * @param type the type id
+     * @return true if rules can be registered for the type, false otherwise
+     */
+    private boolean isKnown(byte type) {
+        return type >= 0 && type < rules.length;
+    }
+}
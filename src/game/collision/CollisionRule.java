@@ -0,0 +1,22 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+/**
+ * Functional interface for the effect of two overlapping objects of particular types,
+ * registered with a CollisionMatrix.
+ */
+@FunctionalInterface
+public interface CollisionRule {
+
+    /**
+     * Applies the effect of a collision. The objects are passed in the order of the types
+     * the rule was registered for, whichever order they were found in.
+     *
+     * @param first the object of the rule's first type
+     * @param second the object of the rule's second type
+     * @param firstIndex the index of the first object where it is stored
+     * @param secondIndex the index of the second object where it is stored
+     */
+    void collide(SpaceObject first, SpaceObject second, int firstIndex, int secondIndex);
+}
@@ -0,0 +1,16 @@
+package game.collision;
+
+/**
+ * Functional interface for reacting to two overlapping objects identified by their index.
+ */
+@FunctionalInterface
+public interface IndexedCollisionHandler {
+
+    /**
+     * Handles a pair of overlapping entities.
+     *
+     * @param first the lower index of the pair
+     * @param second the higher index of the pair
+     */
+    void onOverlap(int first, int second);
+}
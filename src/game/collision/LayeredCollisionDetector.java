@@ -0,0 +1,186 @@
+package game.collision;
+
+import game.core.CollisionLayer;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collision detector that only compares objects on CollisionLayers that can interact.
+ * Each call splits the objects into one index list per layer, then, for each pair of layers
+ * where either layer's mask includes the other, hashes the smaller list by position and looks
+ * up the members of the larger one. Pairs within a layer are only compared if the layer's mask
+ * includes itself, so crowds of enemies or asteroids are never compared with each other.
+ *
+ * Overlapping pairs are collected and reported in ascending order of their first then second
+ * index, as CollisionDetector requires.
+ */
+public class LayeredCollisionDetector implements CollisionDetector {
+    private static final int LAYER_COUNT = Integer.SIZE;
+
+    private final int[][] members = new int[LAYER_COUNT][16]; // object indices on each layer
+    private final int[] memberCounts = new int[LAYER_COUNT];
+    private final int[] layerMasks = new int[LAYER_COUNT]; // union of the masks of each layer's objects
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int[] heads = new int[0]; // position hash table: first entry of each chain, or -1
+    private int[] entryObjects = new int[0];
+    private int[] entryNext = new int[0];
+    private long[] pairs = new long[16];
+    private int pairCount;
+    private long pairChecks;
+
+    @Override
+    public void detect(List<SpaceObject> objects, IndexedCollisionHandler handler) {
+        int count = objects.size();
+        if (xs.length < count) {
+            xs = new int[Math.max(count, xs.length * 2)];
+            ys = new int[xs.length];
+        }
+        Arrays.fill(memberCounts, 0);
+        Arrays.fill(layerMasks, 0);
+
+        int usedLayers = 0;
+        for (int i = 0; i < count; i++) {
+            SpaceObject object = objects.get(i);
+            int layerFlag = object.getCollisionLayer();
+            if (layerFlag == CollisionLayer.NONE) {
+                continue;
+            }
+            int layer = Integer.numberOfTrailingZeros(layerFlag);
+            xs[i] = object.getX();
+            ys[i] = object.getY();
+            layerMasks[layer] |= object.getCollisionMask();
+            addMember(layer, i);
+            usedLayers |= 1 << layer;
+        }
+
+        pairCount = 0;
+        for (int a = 0; a < LAYER_COUNT; a++) {
+            if ((usedLayers & (1 << a)) == 0) {
+                continue;
+            }
+            for (int b = a; b < LAYER_COUNT; b++) {
+                if ((usedLayers & (1 << b)) != 0
+                        && ((layerMasks[a] & (1 << b)) != 0 || (layerMasks[b] & (1 << a)) != 0)) {
+                    compareLayers(a, b);
+                }
+            }
+        }
+
+        Arrays.sort(pairs, 0, pairCount);
+        for (int i = 0; i < pairCount; i++) {
+            handler.onOverlap((int) (pairs[i] >>> 32), (int) pairs[i]);
+        }
+    }
+
+    @Override
+    public long getPairChecks() {
+        return pairChecks;
+    }
+
+    /**
+     * Adds an object to a layer's index list.
+     *
+     * @param layer the layer's bit position
+     * @param index the index of the object
+     */
+    private void addMember(int layer, int index) {
+        int size = memberCounts[layer];
+        if (size == members[layer].length) {
+            members[layer] = Arrays.copyOf(members[layer], size * 2);
+        }
+        members[layer][size] = index;
+        memberCounts[layer] = size + 1;
+    }
+
+    /**
+     * Records every overlapping pair with one object on each of two layers, or every
+     * overlapping pair on one layer if they are the same.
+     *
+     * @param a the bit position of the first layer
+     * @param b the bit position of the second layer, no less than a
+     */
+    private void compareLayers(int a, int b) {
+        boolean aSmaller = memberCounts[a] <= memberCounts[b];
+        int[] indexed = aSmaller ? members[a] : members[b];
+        int indexedCount = aSmaller ? memberCounts[a] : memberCounts[b];
+        int[] probes = aSmaller ? members[b] : members[a];
+        int probeCount = aSmaller ? memberCounts[b] : memberCounts[a];
+        boolean sameLayer = a == b;
+
+        int bits = buildTable(indexed, indexedCount);
+        for (int p = 0; p < probeCount; p++) {
+            int probe = probes[p];
+            int x = xs[probe];
+            int y = ys[probe];
+            for (int e = heads[hash(x, y, bits)]; e >= 0; e = entryNext[e]) {
+                int other = entryObjects[e];
+                if (sameLayer && other >= probe) {
+                    break; // Chains are in ascending order, so the rest were already compared
+                }
+                pairChecks++;
+                if (xs[other] == x && ys[other] == y) {
+                    addPair(Math.min(probe, other), Math.max(probe, other));
+                }
+            }
+        }
+    }
+
+    /**
+     * Hashes a layer's objects by position, chaining objects in the same slot in index order.
+     *
+     * @param indexed the indices of the objects
+     * @param count the number of objects
+     * @return the number of bits of the hash used for the table
+     */
+    private int buildTable(int[] indexed, int count) {
+        int bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(count * 2 - 1));
+        int size = 1 << bits;
+        if (heads.length < size) {
+            heads = new int[size];
+        }
+        Arrays.fill(heads, 0, size, -1);
+        if (entryObjects.length < count) {
+            entryObjects = new int[Math.max(count, entryObjects.length * 2)];
+            entryNext = new int[entryObjects.length];
+        }
+
+        // Inserted in reverse so each chain ends up in ascending index order
+        for (int e = count - 1; e >= 0; e--) {
+            int object = indexed[e];
+            int slot = hash(xs[object], ys[object], bits);
+            entryObjects[e] = object;
+            entryNext[e] = heads[slot];
+            heads[slot] = e;
+        }
+        return bits;
+    }
+
+    /**
+     * Records an overlapping pair to be reported once every layer has been compared.
+     *
+     * @param first the lower index of the pair
+     * @param second the higher index of the pair
+     */
+    private void addPair(int first, int second) {
+        if (pairCount == pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairCount * 2);
+        }
+        pairs[pairCount++] = ((long) first << 32) | second;
+    }
+
+    /**
+     * Maps a position onto a slot of the hash table.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @param bits the number of bits in a slot number
+     * @return the slot for the position
+     */
+    private static int hash(int x, int y, int bits) {
+        long key = ((long) x << 32) ^ (y & 0xFFFFFFFFL);
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+}
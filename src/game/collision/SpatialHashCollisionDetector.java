@@ -0,0 +1,145 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collision detector that buckets objects into a grid the size of the game board.
+ * Objects outside the board wrap around into the grid, so every object lands in a bucket
+ * and only objects sharing a bucket are compared. Each tick costs O(n + cells) plus the
+ * pairs inside crowded cells, instead of comparing every pair.
+ *
+ * Boards with more than MAX_BUCKETS cells share buckets between cells, so large boards
+ * do not cost a pass over millions of empty buckets every tick.
+ */
+public class SpatialHashCollisionDetector implements CollisionDetector {
+    public static final int MAX_BUCKETS = 1 << 16; // Most buckets used, however large the board
+
+    private final int width;
+    private final int rows;
+    private final int buckets;
+    private final int[] bucketStart;
+    private final int[] bucketCursor;
+
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int[] cells = new int[0];
+    private int[] order = new int[0];
+    private long pairChecks;
+
+    /**
+     * Creates a detector with one bucket per cell of a board of the given size.
+     * Rows run from 0 to height inclusive, since objects are only culled once below the board.
+     * Cells share buckets if the board has more than MAX_BUCKETS cells.
+     *
+     * @param width the width of the game board
+     * @param height the height of the game board
+     * @throws IllegalArgumentException if width or height is not positive
+     */
+    public SpatialHashCollisionDetector(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Board dimensions must be positive");
+        }
+        this.width = width;
+        this.rows = height + 1;
+        this.buckets = (int) Math.min((long) width * rows, MAX_BUCKETS);
+        this.bucketStart = new int[buckets + 1];
+        this.bucketCursor = new int[buckets];
+    }
+
+    @Override
+    public void detect(List<SpaceObject> objects, IndexedCollisionHandler handler) {
+        int count = objects.size();
+        ensureCapacity(count);
+
+        for (int i = 0; i < count; i++) {
+            SpaceObject object = objects.get(i);
+            xs[i] = object.getX();
+            ys[i] = object.getY();
+        }
+
+        detect(xs, ys, count, handler);
+    }
+
+    /**
+     * Finds every pair of entities with equal coordinates in the given parallel arrays.
+     * Lets stores that keep positions as primitives be checked without building objects.
+     *
+     * @param xs the x coordinate of each entity
+     * @param ys the y coordinate of each entity
+     * @param count the number of entities to check, starting from index 0
+     * @param handler the handler to notify with the indices of each overlapping pair
+     */
+    public void detect(int[] xs, int[] ys, int count, IndexedCollisionHandler handler) {
+        if (cells.length < count) {
+            cells = new int[Math.max(count, cells.length * 2)];
+            order = new int[cells.length];
+        }
+
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < count; i++) {
+            cells[i] = cellOf(xs[i], ys[i]);
+            bucketStart[cells[i] + 1]++;
+        }
+
+        // Counting sort of the indices by cell, stable so each bucket stays in index order
+        for (int cell = 0; cell < bucketCursor.length; cell++) {
+            bucketStart[cell + 1] += bucketStart[cell];
+            bucketCursor[cell] = bucketStart[cell];
+        }
+        for (int i = 0; i < count; i++) {
+            order[bucketCursor[cells[i]]++] = i;
+        }
+
+        for (int cell = 0; cell < bucketCursor.length; cell++) {
+            int end = bucketStart[cell + 1];
+            long size = end - bucketStart[cell];
+            pairChecks += size * (size - 1) / 2;
+
+            for (int a = bucketStart[cell]; a < end - 1; a++) {
+                int first = order[a];
+
+                for (int b = a + 1; b < end; b++) {
+                    int second = order[b];
+
+                    if (xs[first] == xs[second] && ys[first] == ys[second]) {
+                        handler.onOverlap(first, second);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getPairChecks() {
+        return pairChecks;
+    }
+
+    /**
+     * Maps a position onto a bucket, wrapping positions that are off the board.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the bucket index for the position
+     */
+    private int cellOf(int x, int y) {
+        long cell = Math.floorMod(y, rows) * (long) width + Math.floorMod(x, width);
+        return (int) (cell % buckets);
+    }
+
+    /**
+     * Grows the position buffers so they can hold at least the given number of objects.
+     *
+     * @param count the number of objects to be checked
+     */
+    private void ensureCapacity(int count) {
+        if (xs.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, xs.length * 2);
+        xs = new int[capacity];
+        ys = new int[capacity];
+    }
+}
@@ -0,0 +1,478 @@
+package game.config;
+
+import game.GameModel;
+import game.core.BoundaryMode;
+import game.core.DescendingEnemy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The numbers a game is played by: the board size, spawn rates, level thresholds, damage
+ * and how fast enemies descend. Rules are read once, before a game starts, and every per-level
+ * value is worked out then into tables indexed by level, so the game loop only looks values up.
+ * Instances are immutable and can be shared between games.
+ *
+ * Rules are loaded from .properties files. Any property left out keeps the game's usual value:
+ * <pre>
+ * board.width=10             columns on the board
+ * board.height=20            rows on the board
+ * spawn.startRate=2          asteroid spawn rate on the first level (percentage per tick)
+ * spawn.rateIncrease=5       added to the spawn rate on each new level
+ * spawn.enemyRatio=0.5       enemy spawn rate as a fraction of the asteroid rate
+ * spawn.powerUpRatio=0.25    power-up spawn rate as a fraction of the asteroid rate
+ * level.scoreThreshold=100   score needed per level to level up
+ * level.count=100            levels held in the tables
+ * level.N.spawnRate          the spawn rate on level N, instead of the formula
+ * level.N.score              the score needed to leave level N, instead of the formula
+ * damage.asteroid=10         damage an asteroid deals to the ship
+ * damage.enemy=20            damage an enemy deals to the ship
+ * enemy.movePeriod=10        ticks between each move down of asteroids and enemies
+ * ship.boundary=clamp        what the ship does at the edge of the board: clamp or wrap
+ * </pre>
+ * Levels after the last in the tables carry on from it with the formula, so level.N properties
+ * must be for levels within level.count.
+ */
+public final class GameRules {
+    private static final GameRules DEFAULTS = new GameRules(new Properties());
+    private static final Pattern LEVEL_KEY = Pattern.compile("level\\.(\\d+)\\.(spawnRate|score)");
+    private static final String LEVEL_UP_MESSAGE =
+            "Level Up! Welcome to Level %d. Spawn rate increased to %1f%%.";
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L; // FNV-1a 64-bit offset basis
+    private static final long FNV_PRIME = 0x100000001B3L; // FNV-1a 64-bit prime
+
+    private final int width;
+    private final int height;
+    private final double spawnRateIncrease;
+    private final double enemyRatio;
+    private final double powerUpRatio;
+    private final int scoreThreshold;
+    private final int asteroidDamage;
+    private final int enemyDamage;
+    private final int enemyMovePeriod;
+    private final BoundaryMode shipBoundary;
+
+    // Per-level tables, indexed by level - GameModel.START_LEVEL
+    private final int[] requiredScores;
+    private final double[] spawnRates;
+    private final double[] enemySpawnRates;
+    private final double[] powerUpSpawnRates;
+    private final String[] levelUpMessages;
+    private final long fingerprint;
+
+    /**
+     * Builds the rules and their tables from parsed properties.
+     *
+     * @param properties the rule properties
+     * @throws IllegalArgumentException if a property is not a number or is out of range
+     */
+    private GameRules(Properties properties) {
+        width = positiveInt(properties, "board.width", GameModel.GAME_WIDTH);
+        height = positiveInt(properties, "board.height", GameModel.GAME_HEIGHT);
+        double startRate = rate(properties, "spawn.startRate", GameModel.START_SPAWN_RATE);
+        spawnRateIncrease = number(properties, "spawn.rateIncrease", GameModel.SPAWN_RATE_INCREASE);
+        enemyRatio = rate(properties, "spawn.enemyRatio", GameModel.ENEMY_SPAWN_RATE);
+        powerUpRatio = rate(properties, "spawn.powerUpRatio", GameModel.POWER_UP_SPAWN_RATE);
+        scoreThreshold = nonNegativeInt(properties, "level.scoreThreshold", GameModel.SCORE_THRESHOLD);
+        asteroidDamage = nonNegativeInt(properties, "damage.asteroid", GameModel.ASTEROID_DAMAGE);
+        enemyDamage = nonNegativeInt(properties, "damage.enemy", GameModel.ENEMY_DAMAGE);
+        enemyMovePeriod = positiveInt(properties, "enemy.movePeriod", DescendingEnemy.MOVE_PERIOD);
+        shipBoundary = boundaryMode(properties, "ship.boundary", BoundaryMode.CLAMP);
+        int levels = positiveInt(properties, "level.count", 100);
+        checkLevelKeys(properties, levels);
+
+        requiredScores = new int[levels];
+        spawnRates = new double[levels];
+        enemySpawnRates = new double[levels];
+        powerUpSpawnRates = new double[levels];
+        levelUpMessages = new String[levels];
+        for (int i = 0; i < levels; i++) {
+            int level = GameModel.START_LEVEL + i;
+            double formulaRate = i == 0 ? startRate : spawnRates[i - 1] + spawnRateIncrease;
+            spawnRates[i] = Math.max(0, rate(properties, "level." + level + ".spawnRate", formulaRate));
+            enemySpawnRates[i] = spawnRates[i] * enemyRatio;
+            powerUpSpawnRates[i] = spawnRates[i] * powerUpRatio;
+            requiredScores[i] = nonNegativeInt(properties, "level." + level + ".score",
+                    saturate((long) level * scoreThreshold));
+            levelUpMessages[i] = String.format(LEVEL_UP_MESSAGE, level, spawnRates[i]);
+        }
+        fingerprint = computeFingerprint();
+    }
+
+    /**
+     * Gets the rules the game is played by when no rules are given.
+     *
+     * @return the default rules
+     */
+    public static GameRules defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Reads rules from a .properties file.
+     *
+     * @param path the file to read
+     * @return the rules in the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a property is not a number or is out of range
+     */
+    public static GameRules load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Builds rules from properties, as named in the class description.
+     *
+     * @param properties the rule properties (cannot be null)
+     * @return the rules
+     * @throws IllegalArgumentException if a property is not a number or is out of range
+     */
+    public static GameRules fromProperties(Properties properties) {
+        return new GameRules(Objects.requireNonNull(properties, "Properties cannot be null"));
+    }
+
+    /**
+     * Gets the number of columns on the board.
+     *
+     * @return the board width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows on the board.
+     *
+     * @return the board height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the score needed to level up from the given level.
+     *
+     * @param level the current level
+     * @return the score needed to reach the next level
+     */
+    public int getRequiredScore(int level) {
+        int index = level - GameModel.START_LEVEL;
+        if (index < requiredScores.length) {
+            return requiredScores[Math.max(index, 0)];
+        }
+        int last = requiredScores.length - 1;
+        return saturate(requiredScores[last] + (long) (index - last) * scoreThreshold);
+    }
+
+    /**
+     * Gets the asteroid spawn rate on the given level.
+     *
+     * @param level the level
+     * @return the percentage chance per tick of an asteroid spawning
+     */
+    public double getSpawnRate(int level) {
+        int index = level - GameModel.START_LEVEL;
+        if (index < spawnRates.length) {
+            return spawnRates[Math.max(index, 0)];
+        }
+        int last = spawnRates.length - 1;
+        return Math.max(0, spawnRates[last] + (index - last) * spawnRateIncrease);
+    }
+
+    /**
+     * Gets the enemy spawn rate on the given level.
+     *
+     * @param level the level
+     * @return the percentage chance per tick of an enemy spawning
+     */
+    public double getEnemySpawnRate(int level) {
+        int index = level - GameModel.START_LEVEL;
+        return index >= 0 && index < enemySpawnRates.length
+                ? enemySpawnRates[index] : getSpawnRate(level) * enemyRatio;
+    }
+
+    /**
+     * Gets the power-up spawn rate on the given level.
+     *
+     * @param level the level
+     * @return the percentage chance per tick of a power-up spawning
+     */
+    public double getPowerUpSpawnRate(int level) {
+        int index = level - GameModel.START_LEVEL;
+        return index >= 0 && index < powerUpSpawnRates.length
+                ? powerUpSpawnRates[index] : getSpawnRate(level) * powerUpRatio;
+    }
+
+    /**
+     * Gets the enemy spawn rate as a fraction of the asteroid spawn rate.
+     *
+     * @return the enemy spawn ratio
+     */
+    public double getEnemyRatio() {
+        return enemyRatio;
+    }
+
+    /**
+     * Gets the power-up spawn rate as a fraction of the asteroid spawn rate.
+     *
+     * @return the power-up spawn ratio
+     */
+    public double getPowerUpRatio() {
+        return powerUpRatio;
+    }
+
+    /**
+     * Gets the message logged on reaching the given level.
+     *
+     * @param level the level reached
+     * @return the level up message
+     */
+    public String getLevelUpMessage(int level) {
+        int index = level - GameModel.START_LEVEL;
+        return index >= 0 && index < levelUpMessages.length
+                ? levelUpMessages[index]
+                : String.format(LEVEL_UP_MESSAGE, level, getSpawnRate(level));
+    }
+
+    /**
+     * Gets the damage an asteroid deals to the ship.
+     *
+     * @return the asteroid damage
+     */
+    public int getAsteroidDamage() {
+        return asteroidDamage;
+    }
+
+    /**
+     * Gets the damage an enemy deals to the ship.
+     *
+     * @return the enemy damage
+     */
+    public int getEnemyDamage() {
+        return enemyDamage;
+    }
+
+    /**
+     * Gets the number of ticks between each move down of asteroids and enemies.
+     *
+     * @return the move period in ticks
+     */
+    public int getEnemyMovePeriod() {
+        return enemyMovePeriod;
+    }
+
+    /**
+     * Gets what the ship does when moved off the edge of the board.
+     *
+     * @return the ship's boundary mode
+     */
+    public BoundaryMode getShipBoundary() {
+        return shipBoundary;
+    }
+
+    /**
+     * Gets a hash of every value the rules hold, so a saved or recorded game can check it is
+     * resumed by the rules it was played by. Rules with the same values have the same
+     * fingerprint, however their properties were written.
+     *
+     * @return the rules' fingerprint
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Hashes every value the rules hold. Values worked out from others are left out.
+     *
+     * @return the fingerprint
+     */
+    private long computeFingerprint() {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, width);
+        hash = mix(hash, height);
+        hash = mix(hash, Double.doubleToLongBits(spawnRateIncrease));
+        hash = mix(hash, Double.doubleToLongBits(enemyRatio));
+        hash = mix(hash, Double.doubleToLongBits(powerUpRatio));
+        hash = mix(hash, scoreThreshold);
+        hash = mix(hash, asteroidDamage);
+        hash = mix(hash, enemyDamage);
+        hash = mix(hash, enemyMovePeriod);
+        hash = mix(hash, shipBoundary.ordinal());
+        hash = mix(hash, spawnRates.length);
+        for (int i = 0; i < spawnRates.length; i++) {
+            hash = mix(hash, Double.doubleToLongBits(spawnRates[i]));
+            hash = mix(hash, requiredScores[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Adds a value to an FNV-1a hash, a byte at a time.
+     *
+     * @param hash the hash so far
+     * @param value the value to add
+     * @return the new hash
+     */
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Reads a BoundaryMode property, ignoring case.
+     *
+     * @param properties the properties to read from
+     * @param key the property name
+     * @param defaultValue the value if the property is missing
+     * @return the property's value
+     * @throws IllegalArgumentException if the property is not a boundary mode
+     */
+    private static BoundaryMode boundaryMode(Properties properties, String key,
+                                             BoundaryMode defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        for (BoundaryMode mode : BoundaryMode.values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Property " + key + " must be clamp or wrap: " + value);
+    }
+
+    /**
+     * Checks that every level.N property is for a level held in the tables.
+     *
+     * @param properties the properties to check
+     * @param levels the number of levels held in the tables
+     * @throws IllegalArgumentException if a level.N property is for a level outside the tables
+     */
+    private static void checkLevelKeys(Properties properties, int levels) {
+        int lastLevel = GameModel.START_LEVEL + levels - 1;
+        for (String key : properties.stringPropertyNames()) {
+            Matcher matcher = LEVEL_KEY.matcher(key);
+            if (!matcher.matches()) {
+                continue;
+            }
+            long level;
+            try {
+                level = Long.parseLong(matcher.group(1));
+            } catch (NumberFormatException e) {
+                level = Long.MAX_VALUE;
+            }
+            if (level < GameModel.START_LEVEL || level > lastLevel) {
+                throw new IllegalArgumentException("Property " + key + " is for a level outside "
+                        + GameModel.START_LEVEL + " to " + lastLevel + " (see level.count)");
+            }
+        }
+    }
+
+    /**
+     * Reads a decimal property.
+     *
+     * @param properties the properties to read from
+     * @param key the property name
+     * @param defaultValue the value if the property is missing
+     * @return the property's value
+     * @throws IllegalArgumentException if the property is not a finite number
+     */
+    private static double number(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            double number = Double.parseDouble(value.trim());
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Property " + key + " must be a number: " + value);
+    }
+
+    /**
+     * Reads a decimal property that cannot be negative.
+     *
+     * @param properties the properties to read from
+     * @param key the property name
+     * @param defaultValue the value if the property is missing
+     * @return the property's value
+     * @throws IllegalArgumentException if the property is not a number or is negative
+     */
+    private static double rate(Properties properties, String key, double defaultValue) {
+        double rate = number(properties, key, defaultValue);
+        if (rate < 0) {
+            throw new IllegalArgumentException("Property " + key + " cannot be negative");
+        }
+        return rate;
+    }
+
+    /**
+     * Reads a whole number property that cannot be negative.
+     *
+     * @param properties the properties to read from
+     * @param key the property name
+     * @param defaultValue the value if the property is missing
+     * @return the property's value
+     * @throws IllegalArgumentException if the property is not a whole number or is negative
+     */
+    private static int nonNegativeInt(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        int number;
+        try {
+            number = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + key + " must be a whole number: " + value);
+        }
+        if (number < 0) {
+            throw new IllegalArgumentException("Property " + key + " cannot be negative");
+        }
+        return number;
+    }
+
+    /**
+     * Reads a whole number property that must be positive.
+     *
+     * @param properties the properties to read from
+     * @param key the property name
+     * @param defaultValue the value if the property is missing
+     * @return the property's value
+     * @throws IllegalArgumentException if the property is not a positive whole number
+     */
+    private static int positiveInt(Properties properties, String key, int defaultValue) {
+        int number = nonNegativeInt(properties, key, defaultValue);
+        if (number == 0) {
+            throw new IllegalArgumentException("Property " + key + " must be positive");
+        }
+        return number;
+    }
+
+    /**
+     * Limits a score to the range of an int.
+     *
+     * @param score the score
+     * @return the score, or Integer.MAX_VALUE if it is larger
+     */
+    private static int saturate(long score) {
+        return (int) Math.min(score, Integer.MAX_VALUE);
+    }
+}
@@ -1,11 +1,14 @@
 package game.core;
 
+import game.render.GraphicRegistry;
 import game.ui.ObjectGraphic;
 
 /**
  * Represents an asteroid enemy in the game.
  */
 public class Asteroid extends DescendingEnemy {
+    private static final GraphicRegistry.CachedGraphic GRAPHIC =
+            GraphicRegistry.register("🌑", "assets/asteroid.png");
 
     /**
      * Creates an asteroid at the specified position.
@@ -17,8 +20,13 @@ public class Asteroid extends DescendingEnemy {
         super(x, y);
     }
 
+    @Override
+    public byte getTypeId() {
+        return EntityType.ASTEROID;
+    }
+
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🌑", "assets/asteroid.png");
+        return GRAPHIC.get();
     }
 }
\ No newline at end of file
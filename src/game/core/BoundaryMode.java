@@ -0,0 +1,16 @@
+package game.core;
+
+/**
+ * What happens when a Controllable object tries to move off the edge of the board.
+ */
+public enum BoundaryMode {
+    /**
+     * The object stays at the edge.
+     */
+    CLAMP,
+
+    /**
+     * The object comes in at the opposite edge.
+     */
+    WRAP
+}
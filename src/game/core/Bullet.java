@@ -1,11 +1,14 @@
 package game.core;
 
+import game.render.GraphicRegistry;
 import game.ui.ObjectGraphic;
 
 /**
  * Represents a bullet fired from player's ship.
  */
 public class Bullet extends ObjectWithPosition {
+    private static final GraphicRegistry.CachedGraphic GRAPHIC =
+            GraphicRegistry.register("🔺", "assets/bullet.png");
 
     /**
      * Creates a bullet at the specified position.
@@ -22,8 +25,13 @@ public class Bullet extends ObjectWithPosition {
         this.y--;
     }
 
+    @Override
+    public byte getTypeId() {
+        return EntityType.BULLET;
+    }
+
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🔺", "assets/bullet.png");
+        return GRAPHIC.get();
     }
 }
\ No newline at end of file
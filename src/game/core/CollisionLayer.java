@@ -0,0 +1,47 @@
+package game.core;
+
+/**
+ * Bit flags grouping space objects by what they can collide with.
+ * Each object is on one layer and has a mask of the layers it interacts with, so collision
+ * detection can skip pairs of layers that never have an effect, such as enemies and asteroids.
+ */
+public final class CollisionLayer {
+    public static final int NONE = 0; // Collides with nothing
+    public static final int SHIP = 1;
+    public static final int BULLET = 1 << 1;
+    public static final int HOSTILE = 1 << 2; // Asteroids and enemies
+    public static final int PICKUP = 1 << 3; // Power-ups
+    public static final int OTHER = 1 << 4; // Objects that are not a built-in type
+    public static final int ALL = -1; // Collides with every layer
+
+    private static final int[] LAYERS = {
+        SHIP, BULLET, HOSTILE, HOSTILE, PICKUP, PICKUP
+    };
+    private static final int[] MASKS = {
+        HOSTILE | PICKUP | OTHER, HOSTILE | OTHER, SHIP | BULLET | OTHER, SHIP | BULLET | OTHER,
+        SHIP | OTHER, SHIP | OTHER
+    };
+
+    private CollisionLayer() {
+    }
+
+    /**
+     * Gets the layer of objects with the given type id.
+     *
+     * @param type the EntityType id
+     * @return the layer, or OTHER if the type is not a built-in type
+     */
+    public static int of(byte type) {
+        return type >= 0 && type < LAYERS.length ? LAYERS[type] : OTHER;
+    }
+
+    /**
+     * Gets the layers objects with the given type id collide with.
+     *
+     * @param type the EntityType id
+     * @return the collision mask, or ALL if the type is not a built-in type
+     */
+    public static int maskOf(byte type) {
+        return type >= 0 && type < MASKS.length ? MASKS[type] : ALL;
+    }
+}
@@ -11,6 +11,19 @@ import static game.GameModel.GAME_WIDTH;
  * Handles movement logic and checking if it is in bounds.
  */
 public abstract class Controllable extends ObjectWithPosition {
+    public static final int MOVED = 0; // The object moved one cell
+    public static final int BLOCKED = 1; // The move would leave the board, so the object stayed put
+    public static final int WRAPPED = 2; // The object left one edge and came in at the opposite edge
+
+    // Thrown by move() whenever a move is blocked, so blocked moves never fill in a stack trace
+    private static final BoundaryExceededException BLOCKED_RIGHT =
+            new BoundaryExceededException("Cannot move right. Out of bounds!", true);
+    private static final BoundaryExceededException BLOCKED_LEFT =
+            new BoundaryExceededException("Cannot move left. Out of bounds!", true);
+    private static final BoundaryExceededException BLOCKED_DOWN =
+            new BoundaryExceededException("Cannot move down. Out of bounds!", true);
+    private static final BoundaryExceededException BLOCKED_UP =
+            new BoundaryExceededException("Cannot move up. Out of bounds!", true);
 
     /**
      * Creates a controllable object at the specified position.
@@ -23,12 +36,64 @@ public abstract class Controllable extends ObjectWithPosition {
     }
 
     /**
-     * Moves the object in the given direction.
+     * Moves the object in the given direction on a board of the default size.
      *
      * @param direction the direction to move
      * @throws BoundaryExceededException if movement would go out of bounds
      */
     public void move(Direction direction) throws BoundaryExceededException {
+        move(direction, GAME_WIDTH, GAME_HEIGHT);
+    }
+
+    /**
+     * Moves the object in the given direction on a board of the given size.
+     * The exceptions thrown are shared and have no stack trace; use tryMove() where moves
+     * are often blocked.
+     *
+     * @param direction the direction to move
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @throws BoundaryExceededException if movement would go out of bounds
+     */
+    public void move(Direction direction, int width, int height) throws BoundaryExceededException {
+        if (tryMove(direction, width, height) == BLOCKED) {
+            switch (direction) {
+                case UP:
+                    throw BLOCKED_UP;
+                case DOWN:
+                    throw BLOCKED_DOWN;
+                case LEFT:
+                    throw BLOCKED_LEFT;
+                default:
+                    throw BLOCKED_RIGHT;
+            }
+        }
+    }
+
+    /**
+     * Moves the object in the given direction if it stays on a board of the given size.
+     *
+     * @param direction the direction to move
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @return MOVED, or BLOCKED if the move would leave the board
+     */
+    public int tryMove(Direction direction, int width, int height) {
+        return tryMove(direction, width, height, BoundaryMode.CLAMP);
+    }
+
+    /**
+     * Moves the object in the given direction on a board of the given size,
+     * handling moves off the edge of the board as the mode says.
+     *
+     * @param direction the direction to move
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @param mode what to do when the move would leave the board
+     * @return MOVED, BLOCKED if the object stayed at the edge, or WRAPPED if it came in
+     *         at the opposite edge
+     */
+    public int tryMove(Direction direction, int width, int height, BoundaryMode mode) {
         int movedX = x;
         int movedY = y;
 
@@ -47,17 +112,16 @@ public abstract class Controllable extends ObjectWithPosition {
                 break;
         }
 
-        if (movedX >= GAME_WIDTH) {
-            throw new BoundaryExceededException("Cannot move right. Out of bounds!");
-        } else if (movedX < 0) {
-            throw new BoundaryExceededException("Cannot move left. Out of bounds!");
-        } else if (movedY >= GAME_HEIGHT) {
-            throw new BoundaryExceededException("Cannot move down. Out of bounds!");
-        } else if (movedY < 0) {
-            throw new BoundaryExceededException("Cannot move up. Out of bounds!");
-        } else {
+        if (movedX >= 0 && movedX < width && movedY >= 0 && movedY < height) {
             this.x = movedX;
             this.y = movedY;
+            return MOVED;
+        }
+        if (mode == BoundaryMode.CLAMP) {
+            return BLOCKED;
         }
+        this.x = Math.floorMod(movedX, width);
+        this.y = Math.floorMod(movedY, height);
+        return WRAPPED;
     }
-}
\ No newline at end of file
+}
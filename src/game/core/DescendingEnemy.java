@@ -4,6 +4,9 @@ package game.core;
  * Abstract parent class for enemies that move down the screen.
  */
 public abstract class DescendingEnemy extends ObjectWithPosition {
+    public static final int MOVE_PERIOD = 10; // Default number of ticks between each move down
+
+    private int movePeriod = MOVE_PERIOD;
 
     /**
      * Creates a descending enemy at the specified position.
@@ -15,9 +18,31 @@ public abstract class DescendingEnemy extends ObjectWithPosition {
         super(x, y);
     }
 
+    /**
+     * Sets how often the enemy moves down, such as from the game's rules.
+     *
+     * @param movePeriod the number of ticks between each move down (must be positive)
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public void setMovePeriod(int movePeriod) {
+        if (movePeriod <= 0) {
+            throw new IllegalArgumentException("Move period must be positive");
+        }
+        this.movePeriod = movePeriod;
+    }
+
+    /**
+     * Gets how often the enemy moves down.
+     *
+     * @return the number of ticks between each move down
+     */
+    public int getMovePeriod() {
+        return movePeriod;
+    }
+
     @Override
     public void tick(int tick) {
-        if (tick % 10 == 0) {
+        if (tick % movePeriod == 0) {
             this.y++;
         }
     }
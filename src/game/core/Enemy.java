@@ -1,11 +1,14 @@
 package game.core;
 
+import game.render.GraphicRegistry;
 import game.ui.ObjectGraphic;
 
 /**
  * Represents an enemy spacecraft in the game that moves down the screen.
  */
 public class Enemy extends DescendingEnemy {
+    private static final GraphicRegistry.CachedGraphic GRAPHIC =
+            GraphicRegistry.register("👾", "assets/enemy.png");
 
     /**
      * Creates an enemy at the specified position.
@@ -17,8 +20,13 @@ public class Enemy extends DescendingEnemy {
         super(x, y);
     }
 
+    @Override
+    public byte getTypeId() {
+        return EntityType.ENEMY;
+    }
+
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("👾", "assets/enemy.png");
+        return GRAPHIC.get();
     }
 }
\ No newline at end of file
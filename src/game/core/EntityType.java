@@ -0,0 +1,73 @@
+package game.core;
+
+/**
+ * Small integer ids for the built-in kinds of space object.
+ * Used where objects are stored or dispatched by type rather than by class.
+ */
+public final class EntityType {
+    public static final byte UNKNOWN = -1;
+    public static final byte SHIP = 0;
+    public static final byte BULLET = 1;
+    public static final byte ASTEROID = 2;
+    public static final byte ENEMY = 3;
+    public static final byte HEALTH_POWER_UP = 4;
+    public static final byte SHIELD_POWER_UP = 5;
+    public static final int COUNT = 6; // Number of known types, usable as an array size
+
+    private static final String[] NAMES = {
+        "ship", "bullet", "asteroid", "enemy", "health_power_up", "shield_power_up"
+    };
+
+    private EntityType() {
+    }
+
+    /**
+     * Gets a short lower-case name for a type id, for use in reports.
+     *
+     * @param type the type id
+     * @return the name of the type, or "unknown" if it is not a known type
+     */
+    public static String nameOf(byte type) {
+        return type >= 0 && type < COUNT ? NAMES[type] : "unknown";
+    }
+
+    /**
+     * Gets the type id of the given space object. Subclasses of the built-in types
+     * have the id of the type they extend.
+     *
+     * @param object the object to identify
+     * @return the object's type id, or UNKNOWN if it is not a built-in type
+     */
+    public static byte of(SpaceObject object) {
+        return object.getTypeId();
+    }
+
+    /**
+     * Creates a new space object of the given type at the specified position.
+     * Ships are created with full health.
+     *
+     * @param type the type id of the object to create
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     * @return the new space object
+     * @throws IllegalArgumentException if the type id is not a known type
+     */
+    public static SpaceObject create(byte type, int x, int y) {
+        switch (type) {
+            case SHIP:
+                return new Ship(x, y, Ship.MAX_HEALTH);
+            case BULLET:
+                return new Bullet(x, y);
+            case ASTEROID:
+                return new Asteroid(x, y);
+            case ENEMY:
+                return new Enemy(x, y);
+            case HEALTH_POWER_UP:
+                return new HealthPowerUp(x, y);
+            case SHIELD_POWER_UP:
+                return new ShieldPowerUp(x, y);
+            default:
+                throw new IllegalArgumentException("Unknown entity type: " + type);
+        }
+    }
+}
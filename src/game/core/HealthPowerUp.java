@@ -1,12 +1,16 @@
 package game.core;
 
+import game.render.GraphicRegistry;
 import game.ui.ObjectGraphic;
+import game.utility.Logger;
 
 /**
  * Represents a health power-up that heals the player when picked up.
  */
 public class HealthPowerUp extends PowerUp {
     private static final int HEALING_EFFECT = 20;
+    private static final GraphicRegistry.CachedGraphic GRAPHIC =
+            GraphicRegistry.register("❤️", "assets/health.png");
 
     /**
      * Creates a health power-up at specified position.
@@ -18,9 +22,14 @@ public class HealthPowerUp extends PowerUp {
         super(x, y);
     }
 
+    @Override
+    public byte getTypeId() {
+        return EntityType.HEALTH_POWER_UP;
+    }
+
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("❤️", "assets/health.png");
+        return GRAPHIC.get();
     }
 
     /*
@@ -28,8 +37,8 @@ public class HealthPowerUp extends PowerUp {
     javadoc, couldn't see any relevant methods not sure if this is an intended bug
      */
     @Override
-    public void applyEffect(Ship ship) {
+    public void applyEffect(Ship ship, Logger logger) {
         ship.heal(HEALING_EFFECT);
-        System.out.println("Health restored by 20!");
+        logger.log("Health restored by 20!");
     }
 }
\ No newline at end of file
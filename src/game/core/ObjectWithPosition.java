@@ -18,6 +18,19 @@ public abstract class ObjectWithPosition implements SpaceObject {
         this.y = y;
     }
 
+    /**
+     * Puts the object back to the state it had when created at the given position,
+     * so an object kept in an ObjectPool can be used again instead of creating a new one.
+     * Subclasses that hold more state must reset it too, calling super.reinit().
+     *
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     */
+    public void reinit(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
     @Override
     public int getX() {
         return this.x;
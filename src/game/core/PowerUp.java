@@ -1,10 +1,11 @@
 package game.core;
 
+import game.utility.Logger;
+
 /**
  * Abstract parent class for power-up objects in the game.
  */
 public abstract class PowerUp extends ObjectWithPosition implements PowerUpEffect {
-
     /**
      * Creates a power-up at specified position.
      *
@@ -19,4 +20,22 @@ public abstract class PowerUp extends ObjectWithPosition implements PowerUpEffec
     public void tick(int tick) {
         // Power-ups don't move automatically, which seems like a bug but seems to be intended
     }
+
+    /**
+     * Applies the power-up's effect to the ship, printing a message about it to System.out.
+     *
+     * @param ship the ship getting powered up
+     */
+    @Override
+    public void applyEffect(Ship ship) {
+        applyEffect(ship, System.out::println);
+    }
+
+    /**
+     * Applies the power-up's effect to the ship, logging a message about it.
+     *
+     * @param ship the ship getting powered up
+     * @param logger the logger for the effect's message
+     */
+    public abstract void applyEffect(Ship ship, Logger logger);
 }
@@ -1,12 +1,16 @@
 package game.core;
 
+import game.render.GraphicRegistry;
 import game.ui.ObjectGraphic;
+import game.utility.Logger;
 
 /**
  * Represents a shield power-up that increases the player's score when collected.
  */
 public class ShieldPowerUp extends PowerUp {
     private static final int SHIELD_EFFECT = 50;
+    private static final GraphicRegistry.CachedGraphic GRAPHIC =
+            GraphicRegistry.register("💠", "assets/shield.png");
 
     /**
      * Creates a shield power-up at specified position.
@@ -18,17 +22,22 @@ public class ShieldPowerUp extends PowerUp {
         super(x, y);
     }
 
+    @Override
+    public byte getTypeId() {
+        return EntityType.SHIELD_POWER_UP;
+    }
+
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("💠", "assets/shield.png");
+        return GRAPHIC.get();
     }
 
     /*This effect triggeres every tick that space ship is colliding which
     seems like a bug, couldn't find relevant methods though.
      */
     @Override
-    public void applyEffect(Ship ship) {
+    public void applyEffect(Ship ship, Logger logger) {
         ship.addScore(SHIELD_EFFECT);
-        System.out.println("Shield activated! Score increased by 50.");
+        logger.log("Shield activated! Score increased by 50.");
     }
 }
\ No newline at end of file
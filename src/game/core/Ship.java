@@ -1,11 +1,17 @@
 package game.core;
 
+import game.render.GraphicRegistry;
 import game.ui.ObjectGraphic;
 
 /**
  * Represents the player's ship in the game.
  */
 public class Ship extends Controllable {
+    public static final int MAX_HEALTH = 100; // Health of a new ship, and the most it can heal to
+
+    private static final GraphicRegistry.CachedGraphic GRAPHIC =
+            GraphicRegistry.register("🚀", "assets/ship.png");
+
     private int health;
     private int score;
 
@@ -26,12 +32,30 @@ public class Ship extends Controllable {
      * Creates a default ship at position (5,10) with 100 health.
      */
     public Ship() {
-        this(5, 10, 100);
+        this(5, 10, MAX_HEALTH);
+    }
+
+    /**
+     * Moves the ship to the given position with full health and no score.
+     *
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     */
+    @Override
+    public void reinit(int x, int y) {
+        super.reinit(x, y);
+        this.health = MAX_HEALTH;
+        this.score = 0;
+    }
+
+    @Override
+    public byte getTypeId() {
+        return EntityType.SHIP;
     }
 
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🚀", "assets/ship.png");
+        return GRAPHIC.get();
     }
 
     /**
@@ -55,8 +79,8 @@ public class Ship extends Controllable {
      */
     public void heal(int amount) {
         this.health += amount;
-        if (this.health >= 100) {
-            this.health = 100;
+        if (this.health >= MAX_HEALTH) {
+            this.health = MAX_HEALTH;
         }
     }
 
@@ -29,4 +29,33 @@ public interface SpaceObject extends Tickable {
      * @return the y coordinate
      */
     int getY();
+
+    /**
+     * Gets the object's type id from EntityType, which decides how it collides with others.
+     * Objects that are not one of the built-in types are EntityType.UNKNOWN.
+     *
+     * @return the type id
+     */
+    default byte getTypeId() {
+        return EntityType.UNKNOWN;
+    }
+
+    /**
+     * Gets the CollisionLayer the object is on. Built-in types are on the layer for their type.
+     *
+     * @return a single CollisionLayer flag, or CollisionLayer.NONE to collide with nothing
+     */
+    default int getCollisionLayer() {
+        return CollisionLayer.of(getTypeId());
+    }
+
+    /**
+     * Gets the CollisionLayers the object can collide with.
+     * Objects on two layers are compared if either layer's mask includes the other.
+     *
+     * @return the CollisionLayer flags the object collides with
+     */
+    default int getCollisionMask() {
+        return CollisionLayer.maskOf(getTypeId());
+    }
 }
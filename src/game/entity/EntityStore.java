@@ -0,0 +1,193 @@
+package game.entity;
+
+import game.collision.IndexedCollisionHandler;
+import game.collision.SpatialHashCollisionDetector;
+import game.core.DescendingEnemy;
+import game.core.EntityType;
+
+import java.util.Arrays;
+
+/**
+ * Stores entities as parallel primitive arrays rather than as individual objects.
+ * Each entity is a slot holding its x and y coordinates, type id and alive flag.
+ * Movement rules are applied to every slot in one tight loop per tick, which keeps
+ * large numbers of entities cheap to update and avoids creating garbage.
+ *
+ * Only the built-in entity types are supported, using the same movement rules as
+ * Bullet, DescendingEnemy and PowerUp. Slots keep the order they were added in.
+ */
+public class EntityStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int[] velocity = new int[EntityType.COUNT];
+    private int movePeriod = DescendingEnemy.MOVE_PERIOD;
+
+    private int[] xs;
+    private int[] ys;
+    private byte[] types;
+    private byte[] alive;
+    private int size;
+
+    /**
+     * Creates an empty entity store.
+     */
+    public EntityStore() {
+        this.xs = new int[INITIAL_CAPACITY];
+        this.ys = new int[INITIAL_CAPACITY];
+        this.types = new byte[INITIAL_CAPACITY];
+        this.alive = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds a live entity to the end of the store.
+     *
+     * @param type the entity's type id from EntityType
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     * @return the slot index of the new entity
+     * @throws IllegalArgumentException if the type id is not a known type
+     */
+    public int add(byte type, int x, int y) {
+        if (type < 0 || type >= EntityType.COUNT) {
+            throw new IllegalArgumentException("Unknown entity type: " + type);
+        }
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            types = Arrays.copyOf(types, capacity);
+            alive = Arrays.copyOf(alive, capacity);
+        }
+
+        xs[size] = x;
+        ys[size] = y;
+        types[size] = type;
+        alive[size] = 1;
+        return size++;
+    }
+
+    /**
+     * Sets how often asteroids and enemies move down.
+     *
+     * @param movePeriod the number of ticks between each move down (must be positive)
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public void setMovePeriod(int movePeriod) {
+        if (movePeriod <= 0) {
+            throw new IllegalArgumentException("Move period must be positive");
+        }
+        this.movePeriod = movePeriod;
+    }
+
+    /**
+     * Moves every entity by its type's movement rule for the given tick.
+     * Bullets move up every tick, asteroids and enemies move down every
+     * move period (DescendingEnemy.MOVE_PERIOD ticks unless set), and everything else stays still.
+     *
+     * @param tick the current game tick
+     */
+    public void tick(int tick) {
+        int descent = tick % movePeriod == 0 ? 1 : 0;
+        velocity[EntityType.BULLET] = -1;
+        velocity[EntityType.ASTEROID] = descent;
+        velocity[EntityType.ENEMY] = descent;
+
+        for (int i = 0; i < size; i++) {
+            ys[i] += velocity[types[i]];
+        }
+    }
+
+    /**
+     * Removes dead entities and entities above the top row or below the given row in one pass,
+     * keeping the remaining slots in their original order.
+     *
+     * @param maxY the largest y coordinate an entity can have and be kept
+     * @return the number of entities removed
+     */
+    public int cull(int maxY) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (alive[i] != 0 && ys[i] >= 0 && ys[i] <= maxY) {
+                xs[kept] = xs[i];
+                ys[kept] = ys[i];
+                types[kept] = types[i];
+                alive[kept] = 1;
+                kept++;
+            }
+        }
+
+        int removed = size - kept;
+        size = kept;
+        return removed;
+    }
+
+    /**
+     * Reports every pair of entities sharing a position to the handler.
+     * Pairs are reported by slot index, including pairs where an entity has been killed.
+     *
+     * @param detector the detector used to find overlapping entities
+     * @param handler the handler to notify with the slot indices of each pair
+     */
+    public void detectOverlaps(SpatialHashCollisionDetector detector,
+                               IndexedCollisionHandler handler) {
+        detector.detect(xs, ys, size, handler);
+    }
+
+    /**
+     * Marks an entity as dead. Its slot is reclaimed by the next cull.
+     *
+     * @param index the slot index of the entity
+     */
+    public void kill(int index) {
+        alive[index] = 0;
+    }
+
+    /**
+     * Checks if an entity has not been killed.
+     *
+     * @param index the slot index of the entity
+     * @return true if the entity is alive, false otherwise
+     */
+    public boolean isAlive(int index) {
+        return alive[index] != 0;
+    }
+
+    /**
+     * Gets the type id of an entity.
+     *
+     * @param index the slot index of the entity
+     * @return the entity's type id
+     */
+    public byte getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Gets the horizontal position of an entity.
+     *
+     * @param index the slot index of the entity
+     * @return the x coordinate
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Gets the vertical position of an entity.
+     *
+     * @param index the slot index of the entity
+     * @return the y coordinate
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Gets the number of slots in use, including entities killed since the last cull.
+     *
+     * @return the number of slots in use
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,90 @@
+package game.entity;
+
+import game.core.EntityType;
+import game.core.SpaceObject;
+import game.ui.ObjectGraphic;
+
+/**
+ * Read-only SpaceObject holding a copy of one EntityStore slot.
+ * Lets entities kept as primitives be passed to code expecting space objects, such as the UI.
+ * Views in an EntityViewList are reused, and hold a different slot after each refill.
+ */
+public class EntityView implements SpaceObject {
+    private static final SpaceObject[] PROTOTYPES = new SpaceObject[EntityType.COUNT];
+
+    static {
+        for (byte type = 0; type < EntityType.COUNT; type++) {
+            PROTOTYPES[type] = EntityType.create(type, 0, 0);
+        }
+    }
+
+    private byte type;
+    private int x;
+    private int y;
+
+    /**
+     * Creates a view of an entity with the given type and position.
+     *
+     * @param type the entity's type id from EntityType
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     */
+    public EntityView(byte type, int x, int y) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Makes the view a copy of another entity, so it can be reused.
+     *
+     * @param type the entity's type id from EntityType
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     */
+    void set(byte type, int x, int y) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Gets the type id of the viewed entity.
+     *
+     * @return the entity's type id
+     */
+    public byte getType() {
+        return type;
+    }
+
+    @Override
+    public byte getTypeId() {
+        return type;
+    }
+
+    @Override
+    public ObjectGraphic render() {
+        return PROTOTYPES[type].render();
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Does nothing, as a view is a copy and its entity is moved by its EntityStore.
+     * Code that ticks every space object it is given can be passed views safely.
+     *
+     * @param tick the current game tick
+     */
+    @Override
+    public void tick(int tick) {
+        // Views are read-only
+    }
+}
@@ -0,0 +1,58 @@
+package game.entity;
+
+import game.core.SpaceObject;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list of the player ship and an EntityView of every live entity in an EntityStore.
+ * The list and its views are refilled in place, so listing a store's entities every frame
+ * allocates nothing once the list has grown to fit them. Refilling changes the list and the
+ * views in it, so callers must not keep them past the next refill.
+ */
+public class EntityViewList extends AbstractList<SpaceObject> implements RandomAccess {
+    private EntityView[] views = new EntityView[0];
+    private SpaceObject ship; // null if the ship is not listed
+    private int viewCount;
+
+    /**
+     * Refills the list from the live entities of a store.
+     *
+     * @param store the store to list
+     * @param ship the player ship to list first, or null to leave it out
+     */
+    public void refill(EntityStore store, SpaceObject ship) {
+        if (views.length < store.size()) {
+            int oldLength = views.length;
+            views = Arrays.copyOf(views, Math.max(store.size(), oldLength + (oldLength >> 1)));
+            for (int i = oldLength; i < views.length; i++) {
+                views[i] = new EntityView((byte) 0, 0, 0);
+            }
+        }
+        this.ship = ship;
+        viewCount = 0;
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isAlive(i)) {
+                views[viewCount++].set(store.getType(i), store.getX(i), store.getY(i));
+            }
+        }
+        modCount++;
+    }
+
+    @Override
+    public SpaceObject get(int index) {
+        int first = ship != null ? 1 : 0;
+        if (index < 0 || index >= viewCount + first) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size "
+                    + size());
+        }
+        return index < first ? ship : views[index - first];
+    }
+
+    @Override
+    public int size() {
+        return viewCount + (ship != null ? 1 : 0);
+    }
+}
@@ -0,0 +1,289 @@
+package game.entity;
+
+import game.core.EntityType;
+
+import java.util.Arrays;
+
+/**
+ * Tracks which cells of the board hold objects, and how many of each EntityType.
+ *
+ * Each row is a bitset of occupied cells, packed into longs, so free cells can be found a word
+ * at a time. Each cell also counts its objects by type, so objects can be added and removed
+ * one at a time as they spawn, move and despawn, and the grid never has to be rebuilt.
+ * Objects outside the grid are counted but not placed on it.
+ */
+public class OccupancyGrid {
+    public static final int OTHER_TYPES = 1 << 7; // Bit in getTypes() for objects of other types
+
+    private static final int SLOTS = EntityType.COUNT + 1; // Per-cell counts: one per type, then others
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] rows;
+    private final char[] totals;
+    private final char[] typeCounts;
+    private int stackedCells; // cells holding more than one object
+    private int untracked; // objects outside the grid
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param width the number of columns
+     * @param height the number of rows
+     * @throws IllegalArgumentException if width or height is not positive
+     */
+    public OccupancyGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + Long.SIZE - 1) / Long.SIZE;
+        this.rows = new long[Math.multiplyExact(wordsPerRow, height)];
+        this.totals = new char[Math.multiplyExact(width, height)];
+        this.typeCounts = new char[Math.multiplyExact(totals.length, SLOTS)];
+    }
+
+    /**
+     * Records an object on a cell.
+     *
+     * @param x the object's x coordinate
+     * @param y the object's y coordinate
+     * @param type the object's EntityType id
+     * @throws IllegalStateException if the cell already holds 65535 objects of the type
+     */
+    public void add(int x, int y, byte type) {
+        if (!contains(x, y)) {
+            untracked++;
+            return;
+        }
+        int cell = y * width + x;
+        int slot = cell * SLOTS + slotOf(type);
+        if (typeCounts[slot] == Character.MAX_VALUE) {
+            throw new IllegalStateException("Too many objects on one cell");
+        }
+        typeCounts[slot]++;
+        int total = ++totals[cell];
+        if (total == 1) {
+            rows[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+        } else if (total == 2) {
+            stackedCells++;
+        }
+    }
+
+    /**
+     * Removes an object recorded on a cell.
+     *
+     * @param x the object's x coordinate when it was recorded
+     * @param y the object's y coordinate when it was recorded
+     * @param type the object's EntityType id
+     * @throws IllegalStateException if no object of the type is recorded on the cell
+     */
+    public void remove(int x, int y, byte type) {
+        if (!contains(x, y)) {
+            if (untracked == 0) {
+                throw new IllegalStateException("No object recorded outside the grid");
+            }
+            untracked--;
+            return;
+        }
+        int cell = y * width + x;
+        int slot = cell * SLOTS + slotOf(type);
+        if (typeCounts[slot] == 0) {
+            throw new IllegalStateException("No object of type " + EntityType.nameOf(type)
+                    + " recorded at " + x + "," + y);
+        }
+        typeCounts[slot]--;
+        int total = --totals[cell];
+        if (total == 0) {
+            rows[y * wordsPerRow + (x >>> 6)] &= ~(1L << x);
+        } else if (total == 1) {
+            stackedCells--;
+        }
+    }
+
+    /**
+     * Removes every object from the grid.
+     */
+    public void clear() {
+        Arrays.fill(rows, 0);
+        Arrays.fill(totals, (char) 0);
+        Arrays.fill(typeCounts, (char) 0);
+        stackedCells = 0;
+        untracked = 0;
+    }
+
+    /**
+     * Checks if a cell holds any object.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return true if the cell holds an object, false if it is empty or outside the grid
+     */
+    public boolean isOccupied(int x, int y) {
+        return contains(x, y) && (rows[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Checks if a cell is on the grid and holds no object.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return true if the cell is empty, false if it is occupied or outside the grid
+     */
+    public boolean isFree(int x, int y) {
+        return contains(x, y) && (rows[y * wordsPerRow + (x >>> 6)] & (1L << x)) == 0;
+    }
+
+    /**
+     * Gets the number of objects on a cell.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return the number of objects, or 0 if the cell is outside the grid
+     */
+    public int getCount(int x, int y) {
+        return contains(x, y) ? totals[y * width + x] : 0;
+    }
+
+    /**
+     * Gets the number of objects of a type on a cell.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @param type the EntityType id
+     * @return the number of objects of the type, or 0 if the cell is outside the grid
+     */
+    public int getCount(int x, int y, byte type) {
+        return contains(x, y) ? typeCounts[(y * width + x) * SLOTS + slotOf(type)] : 0;
+    }
+
+    /**
+     * Gets the EntityTypes on a cell, as a bit set with bit (1 << type) set for each type
+     * and OTHER_TYPES set if any object is not a built-in type.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return the types on the cell, or 0 if it is empty or outside the grid
+     */
+    public int getTypes(int x, int y) {
+        if (!isOccupied(x, y)) {
+            return 0;
+        }
+        int base = (y * width + x) * SLOTS;
+        int types = 0;
+        for (int type = 0; type < EntityType.COUNT; type++) {
+            if (typeCounts[base + type] != 0) {
+                types |= 1 << type;
+            }
+        }
+        return typeCounts[base + EntityType.COUNT] != 0 ? types | OTHER_TYPES : types;
+    }
+
+    /**
+     * Finds the first empty cell in a row at or after a column, wrapping round to the start
+     * of the row. Checks 64 cells at a time.
+     *
+     * @param y the row
+     * @param fromX the column to start from
+     * @return the column of the first empty cell, or -1 if the row is full
+     * @throws IllegalArgumentException if the row or column is outside the grid
+     */
+    public int nextFreeColumn(int y, int fromX) {
+        if (!contains(fromX, y)) {
+            throw new IllegalArgumentException("Cell is outside the grid");
+        }
+        int rowStart = y * wordsPerRow;
+        int word = fromX >>> 6;
+        long free = freeBits(rowStart, word) & (-1L << fromX);
+        for (int checked = 0; checked <= wordsPerRow; checked++) {
+            if (free != 0) {
+                return word * Long.SIZE + Long.numberOfTrailingZeros(free);
+            }
+            word = word + 1 == wordsPerRow ? 0 : word + 1;
+            free = freeBits(rowStart, word);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of cells holding more than one object.
+     *
+     * @return the number of stacked cells
+     */
+    public int getStackedCells() {
+        return stackedCells;
+    }
+
+    /**
+     * Gets the number of objects recorded outside the grid.
+     *
+     * @return the number of untracked objects
+     */
+    public int getUntrackedCount() {
+        return untracked;
+    }
+
+    /**
+     * Checks if any two recorded objects could share a position: if a cell holds more than
+     * one object, or any object is outside the grid.
+     *
+     * @return false if every recorded object is alone on its cell, true otherwise
+     */
+    public boolean hasOverlaps() {
+        return stackedCells != 0 || untracked != 0;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the grid width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the grid height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the empty cells of one word of a row, ignoring bits past the last column.
+     *
+     * @param rowStart the index of the row's first word
+     * @param word the word within the row
+     * @return a bit set for each empty cell covered by the word
+     */
+    private long freeBits(int rowStart, int word) {
+        long free = ~rows[rowStart + word];
+        int columns = width - word * Long.SIZE;
+        return columns >= Long.SIZE ? free : free & ((1L << columns) - 1);
+    }
+
+    /**
+     * Checks if a cell is on the grid.
+     *
+     * @param x the cell's x coordinate
+     * @param y the cell's y coordinate
+     * @return true if the cell is on the grid, false otherwise
+     */
+    private boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Gets the count slot of a type within a cell.
+     *
+     * @param type the EntityType id
+     * @return the type's slot, or the last slot for types that are not built in
+     */
+    private static int slotOf(byte type) {
+        return type >= 0 && type < EntityType.COUNT ? type : EntityType.COUNT;
+    }
+}
@@ -4,6 +4,7 @@ package game.exceptions;
  * Exception thrown when an object attempts to move beyond the game boundaries.
  */
 public class BoundaryExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
 
     /**
      * Creates a new boundary exceeded exception with the specified message.
@@ -13,4 +14,15 @@ public class BoundaryExceededException extends RuntimeException {
     public BoundaryExceededException(String message) {
         super(message);
     }
+
+    /**
+     * Creates a boundary exceeded exception that can be thrown many times without the cost
+     * of filling in a stack trace, which it does not have.
+     *
+     * @param message outlines how exactly boundary was crossed
+     * @param stackless true to create the exception without a stack trace
+     */
+    public BoundaryExceededException(String message, boolean stackless) {
+        super(message, null, !stackless, !stackless);
+    }
 }
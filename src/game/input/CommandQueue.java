@@ -0,0 +1,103 @@
+package game.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands player commands from input threads to the thread running the game.
+ *
+ * Commands are stored as their one-byte codes on a bounded, lock-free ring buffer that any
+ * number of threads may offer to, and that a single thread polls, in the order the commands
+ * were offered. Offering never waits: when the buffer is full, the command is dropped and
+ * counted.
+ */
+public class CommandQueue {
+    public static final int DEFAULT_CAPACITY = 256; // Commands held before new ones are dropped
+
+    private final byte[] codes;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private long head; // Only read and written by the polling thread
+
+    /**
+     * Creates a queue holding up to DEFAULT_CAPACITY commands.
+     */
+    public CommandQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param capacity the number of commands the buffer can hold, rounded up to a power of two
+     * @throws IllegalArgumentException if capacity is not between 1 and 2^30
+     */
+    public CommandQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Math.max(Integer.highestOneBit(capacity - 1) << 1, 1);
+
+        this.codes = new byte[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds a command to the end of the queue. Safe to call from any thread.
+     *
+     * @param command the command to add
+     * @return true if the command was queued, false if the buffer was full and it was dropped
+     */
+    public boolean offer(PlayerCommand command) {
+        byte code = command.getCode();
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    codes[index] = code;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // The slot still holds a command from the previous lap, so the buffer is full
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Takes the command at the front of the queue. Must only be called from one thread.
+     *
+     * @return the oldest queued command, or null if the queue is empty
+     */
+    public PlayerCommand poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        byte code = codes[index];
+        sequences.set(index, head + codes.length);
+        head++;
+        return PlayerCommand.fromCode(code);
+    }
+
+    /**
+     * Gets the number of commands dropped because the buffer was full.
+     *
+     * @return the number of dropped commands
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,94 @@
+package game.input;
+
+import game.utility.Direction;
+
+/**
+ * The actions a player can take, parsed from the keys handled by GameController.
+ */
+public enum PlayerCommand {
+    UP("W", Direction.UP),
+    LEFT("A", Direction.LEFT),
+    DOWN("S", Direction.DOWN),
+    RIGHT("D", Direction.RIGHT),
+    FIRE("F", null),
+    PAUSE("P", null);
+
+    private static final PlayerCommand[] VALUES = values();
+
+    private final String key;
+    private final Direction direction;
+
+    PlayerCommand(String key, Direction direction) {
+        this.key = key;
+        this.direction = direction;
+    }
+
+    /**
+     * Parses a player's input, ignoring case.
+     *
+     * @param input the player's input string
+     * @return the matching command, or null if the input is not a command
+     */
+    public static PlayerCommand fromInput(String input) {
+        if (input == null) {
+            return null;
+        }
+        switch (input.toUpperCase()) {
+            case "W":
+                return UP;
+            case "A":
+                return LEFT;
+            case "S":
+                return DOWN;
+            case "D":
+                return RIGHT;
+            case "F":
+                return FIRE;
+            case "P":
+                return PAUSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Gets the command with the given code.
+     *
+     * @param code the code of the command, as returned by getCode()
+     * @return the command with the code
+     * @throws IllegalArgumentException if no command has the code
+     */
+    public static PlayerCommand fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown command code: " + code);
+        }
+        return VALUES[code];
+    }
+
+    /**
+     * Gets a compact code identifying the command, for storing commands as bytes.
+     *
+     * @return the command's code
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Gets the key that issues the command.
+     *
+     * @return the command's key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the direction the ship moves for this command.
+     *
+     * @return the direction to move, or null if the command is not a movement
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+}
@@ -0,0 +1,62 @@
+package game.metrics;
+
+import game.utility.LogLevel;
+import game.utility.Logger;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logger that counts the messages it passes on to another logger.
+ * Leveled messages are passed on unformatted, so a lazy delegate stays lazy,
+ * and are only counted if the delegate has their level enabled.
+ */
+class CountingLogger implements Logger {
+    private final Logger delegate;
+    private final LongAdder events;
+
+    /**
+     * Creates a logger counting into the given counter.
+     *
+     * @param delegate the logger to pass messages on to
+     * @param events the counter to increment for each message
+     */
+    CountingLogger(Logger delegate, LongAdder events) {
+        this.delegate = delegate;
+        this.events = events;
+    }
+
+    @Override
+    public void log(String text) {
+        events.increment();
+        delegate.log(text);
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return delegate.isEnabled(level);
+    }
+
+    @Override
+    public void log(LogLevel level, String format, long arg) {
+        if (delegate.isEnabled(level)) {
+            events.increment();
+            delegate.log(level, format, arg);
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String format, long first, long second) {
+        if (delegate.isEnabled(level)) {
+            events.increment();
+            delegate.log(level, format, first, second);
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String format, long first, double second) {
+        if (delegate.isEnabled(level)) {
+            events.increment();
+            delegate.log(level, format, first, second);
+        }
+    }
+}
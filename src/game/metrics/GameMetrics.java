@@ -0,0 +1,383 @@
+package game.metrics;
+
+import game.GameModel;
+import game.core.EntityType;
+import game.simulation.FrameScheduler;
+import game.utility.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of measurements of the game loop.
+ * Records how long each phase of a tick takes, and every few ticks samples the game's
+ * object counts by type, spawn counts, collision pairs compared and found, level, spawn rate
+ * and rate of logged messages. Phases are timed on the game thread without locking or
+ * allocating; the results can be read from any thread, through JMX or as a text report.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    public static final int DEFAULT_SAMPLE_INTERVAL = 30; // Ticks between samples of the game
+    public static final String DEFAULT_OBJECT_NAME = "game:type=GameMetrics";
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[GamePhase.values().length];
+    private final int sampleInterval;
+    private final LongAdder logEvents = new LongAdder();
+    private long ticks;
+
+    // Reused by sample() on the game thread
+    private byte[] types = new byte[0];
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private final long[] typeCounts = new long[EntityType.COUNT];
+    private long lastLogEvents;
+    private long lastSampleNanos;
+
+    // Last sampled values, read from other threads
+    private final AtomicLongArray entityCounts = new AtomicLongArray(EntityType.COUNT);
+    private final AtomicLongArray spawnCounts = new AtomicLongArray(EntityType.COUNT);
+    private volatile long tickCount;
+    private volatile long pairChecks;
+    private volatile long collisionHits;
+    private volatile double logEventsPerSecond;
+    private volatile int level;
+    private volatile double spawnRate;
+    private volatile FrameScheduler frameScheduler;
+    private ObjectName registeredName;
+
+    /**
+     * Creates a registry sampling the game every DEFAULT_SAMPLE_INTERVAL ticks.
+     */
+    public GameMetrics() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Creates a registry sampling the game every sampleInterval ticks.
+     *
+     * @param sampleInterval the number of ticks between samples (must be positive)
+     * @throws IllegalArgumentException if sampleInterval is not positive
+     */
+    public GameMetrics(int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        this.sampleInterval = sampleInterval;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the duration of a phase that started at the given time.
+     * Returns the end time, so consecutive phases can be timed with one clock read each:
+     * {@code long time = metrics.endPhase(GamePhase.UPDATE, start);}
+     *
+     * @param phase the phase that ended
+     * @param startNanos the System.nanoTime() when the phase started
+     * @return the System.nanoTime() when the phase ended
+     */
+    public long endPhase(GamePhase phase, long startNanos) {
+        long now = System.nanoTime();
+        phases[phase.ordinal()].record(now - startNanos);
+        return now;
+    }
+
+    /**
+     * Records the duration of a whole tick, and samples the game if a sample is due.
+     * Must be called on the game thread.
+     *
+     * @param model the game that was ticked
+     * @param startNanos the System.nanoTime() when the tick started
+     */
+    public void endTick(GameModel model, long startNanos) {
+        endPhase(GamePhase.TICK, startNanos);
+        ticks++;
+        tickCount = ticks;
+        if (ticks % sampleInterval == 0) {
+            sample(model);
+        }
+    }
+
+    /**
+     * Samples the game's object counts and counters. Must be called on the game thread.
+     *
+     * @param model the game to sample
+     */
+    public void sample(GameModel model) {
+        int count = model.getObjectCount();
+        if (count > types.length) {
+            int capacity = Math.max(count, types.length + (types.length >> 1));
+            types = new byte[capacity];
+            xs = new int[capacity];
+            ys = new int[capacity];
+        }
+        count = model.copyObjects(types, xs, ys);
+
+        Arrays.fill(typeCounts, 0);
+        for (int i = 0; i < count; i++) {
+            if (types[i] >= 0) {
+                typeCounts[types[i]]++;
+            }
+        }
+        for (byte type = 0; type < EntityType.COUNT; type++) {
+            entityCounts.set(type, typeCounts[type]);
+            spawnCounts.set(type, model.getSpawnCount(type));
+        }
+
+        pairChecks = model.getCollisionPairChecks();
+        collisionHits = model.getCollisionHits();
+        level = model.getLevel();
+        spawnRate = model.getSpawnRate();
+
+        long now = System.nanoTime();
+        long events = logEvents.sum();
+        if (lastSampleNanos != 0 && now > lastSampleNanos) {
+            logEventsPerSecond = (events - lastLogEvents) * 1e9 / (now - lastSampleNanos);
+        }
+        lastLogEvents = events;
+        lastSampleNanos = now;
+    }
+
+    /**
+     * Wraps a logger so that the messages passed through it are counted.
+     * Give the wrapped logger to the GameModel and GameController to measure their logging.
+     *
+     * @param delegate the logger to wrap
+     * @return a logger passing every message on to the delegate
+     */
+    public Logger countLogs(Logger delegate) {
+        return new CountingLogger(delegate, logEvents);
+    }
+
+    /**
+     * Sets the scheduler pacing the game, whose dropped frames and lag are then reported.
+     *
+     * @param frameScheduler the scheduler, or null if the game is not paced by one
+     */
+    public void setFrameScheduler(FrameScheduler frameScheduler) {
+        this.frameScheduler = frameScheduler;
+    }
+
+    /**
+     * Gets the durations recorded for a phase.
+     *
+     * @param phase the phase
+     * @return the phase's histogram
+     */
+    public LatencyHistogram getHistogram(GamePhase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Publishes these metrics through the platform MBean server as DEFAULT_OBJECT_NAME.
+     *
+     * @throws IllegalStateException if the metrics cannot be registered
+     */
+    public void registerMBean() {
+        registerMBean(DEFAULT_OBJECT_NAME);
+    }
+
+    /**
+     * Publishes these metrics through the platform MBean server under the given name,
+     * replacing any earlier registration of this registry.
+     *
+     * @param objectName the JMX object name, such as "game:type=GameMetrics,name=session1"
+     * @throws IllegalStateException if the metrics cannot be registered
+     */
+    public synchronized void registerMBean(String objectName) {
+        unregisterMBean();
+        try {
+            ObjectName name = new ObjectName(objectName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            registeredName = name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics as " + objectName, e);
+        }
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, if registered.
+     */
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(registeredName)) {
+                server.unregisterMBean(registeredName);
+            }
+        } catch (JMException e) {
+            // Already removed by someone else
+        }
+        registeredName = null;
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMeanMicros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (GamePhase phase : GamePhase.values()) {
+            values.put(phaseName(phase), getHistogram(phase).getMean() / 1000);
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseP99Micros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (GamePhase phase : GamePhase.values()) {
+            values.put(phaseName(phase), getHistogram(phase).getValueAtPercentile(99) / 1000.0);
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Double> getPhaseMaxMicros() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (GamePhase phase : GamePhase.values()) {
+            values.put(phaseName(phase), getHistogram(phase).getMax() / 1000.0);
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getEntityCounts() {
+        return countsByType(entityCounts);
+    }
+
+    @Override
+    public Map<String, Long> getSpawnCounts() {
+        return countsByType(spawnCounts);
+    }
+
+    @Override
+    public long getCollisionPairChecks() {
+        return pairChecks;
+    }
+
+    @Override
+    public long getCollisionHits() {
+        return collisionHits;
+    }
+
+    @Override
+    public double getLogEventsPerSecond() {
+        return logEventsPerSecond;
+    }
+
+    @Override
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public double getSpawnRate() {
+        return spawnRate;
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        FrameScheduler scheduler = frameScheduler;
+        return scheduler == null ? 0 : scheduler.getDroppedFrames();
+    }
+
+    @Override
+    public long getLostTicks() {
+        FrameScheduler scheduler = frameScheduler;
+        return scheduler == null ? 0 : scheduler.getLostTicks();
+    }
+
+    @Override
+    public double getLagMillis() {
+        FrameScheduler scheduler = frameScheduler;
+        return scheduler == null ? 0 : scheduler.getLagNanos() / 1e6;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Ticks %d, level %d, spawn rate %.1f%%, %.1f log events/s%n",
+                tickCount, level, spawnRate, logEventsPerSecond));
+        report.append(String.format("%-12s %10s %10s %10s %10s %10s%n",
+                "phase", "count", "mean us", "p50 us", "p99 us", "max us"));
+        for (GamePhase phase : GamePhase.values()) {
+            LatencyHistogram histogram = getHistogram(phase);
+            report.append(String.format("%-12s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                    phaseName(phase), histogram.getCount(), histogram.getMean() / 1000,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getMax() / 1000.0));
+        }
+        report.append("Objects:").append(formatCounts(entityCounts)).append(System.lineSeparator());
+        report.append("Spawned:").append(formatCounts(spawnCounts)).append(System.lineSeparator());
+        report.append(String.format("Collisions: %d pairs compared, %d overlapping",
+                pairChecks, collisionHits));
+        FrameScheduler scheduler = frameScheduler;
+        if (scheduler != null) {
+            report.append(System.lineSeparator());
+            report.append(String.format("Frames: %d drawn, %d skipped, %d ticks lost, "
+                            + "lag %.1f ms (max %.1f ms)",
+                    scheduler.getFrames() - scheduler.getDroppedFrames(),
+                    scheduler.getDroppedFrames(), scheduler.getLostTicks(),
+                    scheduler.getLagNanos() / 1e6, scheduler.getMaxLagNanos() / 1e6));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : phases) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Gets the name of a phase used in reports.
+     *
+     * @param phase the phase
+     * @return the lower-case phase name
+     */
+    private static String phaseName(GamePhase phase) {
+        return phase.name().toLowerCase();
+    }
+
+    /**
+     * Copies counts indexed by entity type into a map keyed by type name.
+     *
+     * @param counts the counts
+     * @return the counts by type name
+     */
+    private static Map<String, Long> countsByType(AtomicLongArray counts) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (byte type = 0; type < EntityType.COUNT; type++) {
+            values.put(EntityType.nameOf(type), counts.get(type));
+        }
+        return values;
+    }
+
+    /**
+     * Formats counts indexed by entity type as " name=count" pairs.
+     *
+     * @param counts the counts
+     * @return the formatted counts
+     */
+    private static String formatCounts(AtomicLongArray counts) {
+        StringBuilder text = new StringBuilder();
+        for (byte type = 0; type < EntityType.COUNT; type++) {
+            text.append(' ').append(EntityType.nameOf(type)).append('=').append(counts.get(type));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,120 @@
+package game.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface through which GameMetrics is published over JMX.
+ * Durations are in microseconds and maps are keyed by lower-case phase or entity type names.
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Gets the number of ticks measured.
+     *
+     * @return the number of ticks
+     */
+    long getTickCount();
+
+    /**
+     * Gets the mean duration of each phase.
+     *
+     * @return the mean in microseconds, by phase
+     */
+    Map<String, Double> getPhaseMeanMicros();
+
+    /**
+     * Gets the 99th percentile duration of each phase.
+     *
+     * @return the 99th percentile in microseconds, by phase
+     */
+    Map<String, Double> getPhaseP99Micros();
+
+    /**
+     * Gets the longest duration of each phase.
+     *
+     * @return the maximum in microseconds, by phase
+     */
+    Map<String, Double> getPhaseMaxMicros();
+
+    /**
+     * Gets the number of objects of each type in the game when last sampled.
+     *
+     * @return the object counts, by entity type
+     */
+    Map<String, Long> getEntityCounts();
+
+    /**
+     * Gets the number of objects of each type spawned when last sampled.
+     *
+     * @return the spawn counts, by entity type
+     */
+    Map<String, Long> getSpawnCounts();
+
+    /**
+     * Gets the number of pairs the collision detector had compared when last sampled.
+     *
+     * @return the number of pairs compared
+     */
+    long getCollisionPairChecks();
+
+    /**
+     * Gets the number of overlapping pairs found when last sampled.
+     *
+     * @return the number of overlapping pairs
+     */
+    long getCollisionHits();
+
+    /**
+     * Gets the rate of logged messages between the last two samples.
+     *
+     * @return the messages logged per second
+     */
+    double getLogEventsPerSecond();
+
+    /**
+     * Gets the game level when last sampled.
+     *
+     * @return the level
+     */
+    int getLevel();
+
+    /**
+     * Gets the spawn rate when last sampled.
+     *
+     * @return the spawn rate as a percentage chance per tick
+     */
+    double getSpawnRate();
+
+    /**
+     * Gets the number of frames not drawn so a game paced by a FrameScheduler could catch up.
+     *
+     * @return the number of skipped frames, or 0 if the game is not paced by a scheduler
+     */
+    long getDroppedFrames();
+
+    /**
+     * Gets the number of ticks given up on because the game fell too far behind.
+     *
+     * @return the number of ticks never run, or 0 if the game is not paced by a scheduler
+     */
+    long getLostTicks();
+
+    /**
+     * Gets how far behind schedule the game was at the end of the last frame.
+     *
+     * @return the lag in milliseconds, or 0 if the game is not paced by a scheduler
+     */
+    double getLagMillis();
+
+    /**
+     * Gets all metrics as a plain-text report.
+     *
+     * @return the report
+     */
+    String getReport();
+
+    /**
+     * Clears the phase durations, so later values are not averaged with earlier ones.
+     */
+    void reset();
+}
@@ -0,0 +1,15 @@
+package game.metrics;
+
+/**
+ * The measured parts of a game tick, in the order GameController.onTick() runs them.
+ * TICK covers the whole tick. When the game is paced by a FrameScheduler, frames are drawn
+ * separately from ticks, so TICK covers only the simulation.
+ */
+public enum GamePhase {
+    RENDER,
+    UPDATE,
+    COLLISIONS,
+    SPAWN,
+    LEVEL_UP,
+    TICK
+}
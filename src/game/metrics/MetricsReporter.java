@@ -0,0 +1,47 @@
+package game.metrics;
+
+import game.utility.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes the text report of a GameMetrics registry to a logger,
+ * from a background thread so the game loop is not held up.
+ */
+public class MetricsReporter implements AutoCloseable {
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Starts writing a report every period.
+     *
+     * @param metrics the metrics to report
+     * @param output the logger to write each report to, such as System.out::println
+     * @param period the time between reports (must be positive)
+     * @param unit the unit of the period
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public MetricsReporter(GameMetrics metrics, Logger output, long period, TimeUnit unit) {
+        Objects.requireNonNull(metrics, "Metrics cannot be null");
+        Objects.requireNonNull(output, "Output cannot be null");
+        if (period <= 0) {
+            throw new IllegalArgumentException("Report period must be positive");
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> output.log(metrics.getReport()), period, period, unit);
+    }
+
+    /**
+     * Stops writing reports.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
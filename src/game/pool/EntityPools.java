@@ -0,0 +1,101 @@
+package game.pool;
+
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.EntityType;
+import game.core.HealthPowerUp;
+import game.core.ObjectWithPosition;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+
+/**
+ * One ObjectPool for each type of object the game spawns: bullets, asteroids, enemies
+ * and both power-ups. Only objects of exactly those classes are taken back, so subclasses
+ * with behaviour or state of their own are never handed out in their place.
+ */
+public class EntityPools {
+    public static final int DEFAULT_MAX_SIZE = 4096; // Unused objects kept per type
+
+    private final ObjectPool<?>[] pools = new ObjectPool<?>[EntityType.COUNT];
+    private final Class<?>[] pooledClasses = new Class<?>[EntityType.COUNT];
+
+    /**
+     * Creates pools keeping up to DEFAULT_MAX_SIZE unused objects of each type.
+     */
+    public EntityPools() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates pools keeping up to maxSize unused objects of each type.
+     *
+     * @param maxSize the most unused objects to keep per type
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public EntityPools(int maxSize) {
+        register(EntityType.BULLET, Bullet.class, new ObjectPool<>(Bullet::new, maxSize));
+        register(EntityType.ASTEROID, Asteroid.class, new ObjectPool<>(Asteroid::new, maxSize));
+        register(EntityType.ENEMY, Enemy.class, new ObjectPool<>(Enemy::new, maxSize));
+        register(EntityType.HEALTH_POWER_UP, HealthPowerUp.class,
+                new ObjectPool<>(HealthPowerUp::new, maxSize));
+        register(EntityType.SHIELD_POWER_UP, ShieldPowerUp.class,
+                new ObjectPool<>(ShieldPowerUp::new, maxSize));
+    }
+
+    /**
+     * Adds the pool for one type.
+     *
+     * @param type the EntityType id
+     * @param pooledClass the exact class of the objects pooled
+     * @param pool the pool
+     */
+    private void register(byte type, Class<?> pooledClass, ObjectPool<?> pool) {
+        pools[type] = pool;
+        pooledClasses[type] = pooledClass;
+    }
+
+    /**
+     * Gets an object of the given type at the given position, reusing a released one if possible.
+     *
+     * @param type the EntityType id of the object
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     * @return an object in its newly created state
+     * @throws IllegalArgumentException if the type is not pooled
+     */
+    public SpaceObject acquire(byte type, int x, int y) {
+        return pool(type).acquire(x, y);
+    }
+
+    /**
+     * Returns an object that is no longer in the game so it can be reused.
+     * Objects that are not of a pooled class, such as the ship, are ignored.
+     *
+     * @param object the object to return
+     * @return true if the object was kept, false otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public boolean release(SpaceObject object) {
+        byte type = EntityType.of(object);
+        if (type < 0 || pooledClasses[type] != object.getClass()) {
+            return false;
+        }
+        return ((ObjectPool<ObjectWithPosition>) pools[type]).release((ObjectWithPosition) object);
+    }
+
+    /**
+     * Gets the pool for one type, such as to check how often it reuses objects.
+     *
+     * @param type the EntityType id
+     * @return the pool for the type
+     * @throws IllegalArgumentException if the type is not pooled
+     */
+    public ObjectPool<?> pool(byte type) {
+        ObjectPool<?> pool = type >= 0 && type < pools.length ? pools[type] : null;
+        if (pool == null) {
+            throw new IllegalArgumentException("No pool for entity type " + EntityType.nameOf(type));
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,120 @@
+package game.pool;
+
+import game.core.ObjectWithPosition;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A stack of unused objects of one type that can be handed out again instead of creating
+ * new objects. Released objects are reinitialised with ObjectWithPosition.reinit() when they
+ * are acquired. Not thread-safe.
+ *
+ * @param <T> the type of object pooled
+ */
+public class ObjectPool<T extends ObjectWithPosition> {
+
+    /**
+     * Creates a new object for the pool to hand out when it is empty.
+     *
+     * @param <T> the type of object created
+     */
+    @FunctionalInterface
+    public interface Factory<T> {
+
+        /**
+         * Creates an object at the given position.
+         *
+         * @param x the horizontal position(postive to the right)
+         * @param y the vertical position(positive downwards)
+         * @return the new object
+         */
+        T create(int x, int y);
+    }
+
+    private final Factory<T> factory;
+    private final int maxSize;
+    private Object[] free = new Object[16];
+    private int size;
+    private long created;
+    private long reused;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param factory creates objects when the pool is empty
+     * @param maxSize the most unused objects to keep; any more released are left to be collected
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public ObjectPool(Factory<T> factory, int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Pool size cannot be negative");
+        }
+        this.factory = Objects.requireNonNull(factory, "Factory cannot be null");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets an object at the given position, reusing a released object if there is one.
+     *
+     * @param x the horizontal position(postive to the right)
+     * @param y the vertical position(positive downwards)
+     * @return an object in its newly created state
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire(int x, int y) {
+        if (size == 0) {
+            created++;
+            return factory.create(x, y);
+        }
+        T object = (T) free[--size];
+        free[size] = null;
+        object.reinit(x, y);
+        reused++;
+        return object;
+    }
+
+    /**
+     * Returns an object to the pool. The object must no longer be used by anything else.
+     *
+     * @param object the object to return
+     * @return true if the object was kept, false if the pool is full
+     */
+    public boolean release(T object) {
+        if (size == maxSize) {
+            return false;
+        }
+        if (size == free.length) {
+            free = Arrays.copyOf(free, Math.min(maxSize, free.length * 2));
+        }
+        free[size++] = object;
+        return true;
+    }
+
+    /**
+     * Gets the number of unused objects in the pool.
+     *
+     * @return the number of objects ready to be reused
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of objects created because the pool was empty.
+     *
+     * @return the number of objects created
+     */
+    public long getCreatedCount() {
+        return created;
+    }
+
+    /**
+     * Gets the number of released objects handed out again.
+     *
+     * @return the number of objects reused
+     */
+    public long getReusedCount() {
+        return reused;
+    }
+}
@@ -0,0 +1,105 @@
+package game.render;
+
+import game.core.SpaceObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The changes made to a game's objects since they were last drawn.
+ * Lists objects that were spawned, moved or despawned, in the order the changes happened.
+ * An object may appear more than once, and may appear as both spawned and despawned if it
+ * came and went between draws. Changes should be applied spawned, then moved, then despawned.
+ *
+ * The lists are reused after clear(), so recording changes allocates nothing once they have grown.
+ */
+public class ChangeSet {
+    private final List<SpaceObject> spawned = new ArrayList<>();
+    private final List<SpaceObject> moved = new ArrayList<>();
+    private final List<SpaceObject> despawned = new ArrayList<>();
+    private final List<SpaceObject> spawnedView = Collections.unmodifiableList(spawned);
+    private final List<SpaceObject> movedView = Collections.unmodifiableList(moved);
+    private final List<SpaceObject> despawnedView = Collections.unmodifiableList(despawned);
+
+    /**
+     * Records that an object was added to the game.
+     *
+     * @param object the spawned object
+     */
+    public void recordSpawn(SpaceObject object) {
+        spawned.add(object);
+    }
+
+    /**
+     * Records that an object changed position.
+     *
+     * @param object the moved object
+     */
+    public void recordMove(SpaceObject object) {
+        moved.add(object);
+    }
+
+    /**
+     * Records that an object was removed from the game.
+     *
+     * @param object the despawned object
+     */
+    public void recordDespawn(SpaceObject object) {
+        despawned.add(object);
+    }
+
+    /**
+     * Gets the objects added to the game.
+     *
+     * @return an unmodifiable view of the spawned objects
+     */
+    public List<SpaceObject> getSpawned() {
+        return spawnedView;
+    }
+
+    /**
+     * Gets the objects that changed position.
+     *
+     * @return an unmodifiable view of the moved objects
+     */
+    public List<SpaceObject> getMoved() {
+        return movedView;
+    }
+
+    /**
+     * Gets the objects removed from the game.
+     *
+     * @return an unmodifiable view of the despawned objects
+     */
+    public List<SpaceObject> getDespawned() {
+        return despawnedView;
+    }
+
+    /**
+     * Checks if any objects were added to or removed from the game.
+     *
+     * @return true if an object was spawned or despawned, false otherwise
+     */
+    public boolean hasSpawnsOrDespawns() {
+        return !spawned.isEmpty() || !despawned.isEmpty();
+    }
+
+    /**
+     * Checks if nothing has changed.
+     *
+     * @return true if no changes are recorded, false otherwise
+     */
+    public boolean isEmpty() {
+        return !hasSpawnsOrDespawns() && moved.isEmpty();
+    }
+
+    /**
+     * Forgets all recorded changes, keeping the lists for reuse.
+     */
+    public void clear() {
+        spawned.clear();
+        moved.clear();
+        despawned.clear();
+    }
+}
@@ -0,0 +1,187 @@
+package game.render;
+
+import game.ui.ObjectGraphic;
+
+import javax.imageio.ImageIO;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Shared cache of object graphics and the images they draw.
+ *
+ * Each kind of object registers its graphic once and renders the same cached instance every
+ * frame, instead of creating a new ObjectGraphic per object per frame. Images are read and
+ * decoded the first time they are asked for, and scaled copies are kept per size. Images that
+ * cannot be read are remembered too, so a missing asset is not looked for every frame. Calling
+ * reload() replaces every cached graphic and image, so assets can be changed while running.
+ */
+public final class GraphicRegistry {
+    private static final Map<String, CachedGraphic> GRAPHICS = new ConcurrentHashMap<>();
+    private static final Map<String, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+    private static final Set<String> MISSING_IMAGES = ConcurrentHashMap.newKeySet(); // unreadable paths
+    private static final Map<String, Map<Long, Image>> SCALED_IMAGES = new ConcurrentHashMap<>();
+    private static final List<Consumer<String>> RELOAD_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private GraphicRegistry() {
+    }
+
+    /**
+     * Gets the cached graphic for an image, creating it the first time the image is registered.
+     *
+     * @param text the text drawn when images are not in use
+     * @param imagePath the path of the image asset, which identifies the graphic
+     * @return the cached graphic for the image
+     */
+    public static CachedGraphic register(String text, String imagePath) {
+        return GRAPHICS.computeIfAbsent(imagePath, path -> new CachedGraphic(text, path));
+    }
+
+    /**
+     * Gets the decoded image at the given path, reading it the first time it is asked for.
+     * An image that cannot be read is not tried again until it is reloaded.
+     *
+     * @param imagePath the path of the image asset
+     * @return the decoded image, or null if it cannot be read
+     */
+    public static BufferedImage getImage(String imagePath) {
+        BufferedImage image = IMAGES.get(imagePath);
+        if (image == null && !MISSING_IMAGES.contains(imagePath)) {
+            image = readImage(imagePath);
+            if (image != null) {
+                IMAGES.put(imagePath, image);
+            } else {
+                MISSING_IMAGES.add(imagePath);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Gets the image at the given path scaled to the given size, scaling it once per size.
+     *
+     * @param imagePath the path of the image asset
+     * @param width the width to scale to, in pixels
+     * @param height the height to scale to, in pixels
+     * @return the scaled image, or null if it cannot be read
+     */
+    public static Image getScaledImage(String imagePath, int width, int height) {
+        BufferedImage image = getImage(imagePath);
+        if (image == null) {
+            return null;
+        }
+        long size = ((long) width << 32) | (height & 0xFFFFFFFFL);
+        return SCALED_IMAGES.computeIfAbsent(imagePath, path -> new ConcurrentHashMap<>())
+                .computeIfAbsent(size, key -> image.getScaledInstance(width, height,
+                        Image.SCALE_SMOOTH));
+    }
+
+    /**
+     * Replaces every cached graphic and image, then notifies reload listeners of each
+     * registered image path.
+     */
+    public static void reload() {
+        IMAGES.clear();
+        MISSING_IMAGES.clear();
+        SCALED_IMAGES.clear();
+        for (CachedGraphic graphic : GRAPHICS.values()) {
+            graphic.refresh();
+            notifyReloaded(graphic.imagePath);
+        }
+    }
+
+    /**
+     * Replaces the cached graphic and images for one asset, then notifies reload listeners.
+     *
+     * @param imagePath the path of the image asset that changed
+     */
+    public static void reload(String imagePath) {
+        IMAGES.remove(imagePath);
+        MISSING_IMAGES.remove(imagePath);
+        SCALED_IMAGES.remove(imagePath);
+        CachedGraphic graphic = GRAPHICS.get(imagePath);
+        if (graphic != null) {
+            graphic.refresh();
+        }
+        notifyReloaded(imagePath);
+    }
+
+    /**
+     * Adds a listener told the path of every image asset that is reloaded,
+     * such as a UI that needs to redraw objects using it.
+     *
+     * @param listener the listener to notify
+     */
+    public static void addReloadListener(Consumer<String> listener) {
+        RELOAD_LISTENERS.add(listener);
+    }
+
+    /**
+     * Tells every reload listener that an image asset was reloaded.
+     *
+     * @param imagePath the path of the reloaded image asset
+     */
+    private static void notifyReloaded(String imagePath) {
+        for (Consumer<String> listener : RELOAD_LISTENERS) {
+            listener.accept(imagePath);
+        }
+    }
+
+    /**
+     * Reads and decodes an image file.
+     *
+     * @param imagePath the path of the image asset
+     * @return the decoded image, or null if it cannot be read
+     */
+    private static BufferedImage readImage(String imagePath) {
+        try {
+            return ImageIO.read(new File(imagePath));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A registered graphic, shared by every object drawn with the same image.
+     */
+    public static final class CachedGraphic {
+        private final String text;
+        private final String imagePath;
+        private volatile ObjectGraphic graphic;
+
+        /**
+         * Creates the cached graphic for an image.
+         *
+         * @param text the text drawn when images are not in use
+         * @param imagePath the path of the image asset
+         */
+        private CachedGraphic(String text, String imagePath) {
+            this.text = text;
+            this.imagePath = imagePath;
+            this.graphic = new ObjectGraphic(text, imagePath);
+        }
+
+        /**
+         * Gets the shared graphic.
+         *
+         * @return the current graphic for the image
+         */
+        public ObjectGraphic get() {
+            return graphic;
+        }
+
+        /**
+         * Replaces the shared graphic with a newly created one.
+         */
+        private void refresh() {
+            graphic = new ObjectGraphic(text, imagePath);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package game.render;
+
+/**
+ * A display that can be updated with only what changed, rather than every object each frame.
+ * A UI implementing this interface is given changes by GameController.renderGame() in place
+ * of a full list of objects, and is never given changes when nothing has changed.
+ */
+public interface IncrementalRenderer {
+
+    /**
+     * Updates the display with the changes since the previous call.
+     * The change set is cleared and reused afterwards, so it must not be kept.
+     *
+     * @param changes the changes to draw
+     */
+    void applyChanges(ChangeSet changes);
+}
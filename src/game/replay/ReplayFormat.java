@@ -0,0 +1,28 @@
+package game.replay;
+
+/**
+ * Constants describing the binary replay format shared by ReplayRecorder and ReplayPlayer.
+ *
+ * A replay starts with MAGIC, VERSION, the game's random seed, a flags byte, the stream id
+ * passed to GameModel.useSpawnPlanner() (0 if SPAWN_PLANNER is not set), the board width and
+ * height (int) and the fingerprint of the game's rules (long), followed by records that each
+ * start with a record type byte. Version 1 replays have no flags or stream id, and versions
+ * before 3 have no board size or rules. Frames count the calls to GameController.onTick().
+ * - INPUT: frame (int), command code (byte). The input came before the frame's tick.
+ * - TICK: frame (int), tick (int). The tick number passed on that frame, written for the first
+ *   frame and whenever the tick does not follow on from the previous frame's.
+ * - END: frame count (int), score (int), health (int), level (int) at the end of the game.
+ */
+final class ReplayFormat {
+    static final int MAGIC = 0x52504C59; // "RPLY"
+    static final short VERSION = 3;
+    static final byte SPAWN_PLANNER = 1; // Flag set if the game spawned with a SpawnPlanner
+    static final byte FREE_LANES = 2; // Flag set if the game spawned in free lanes
+    static final byte OCCUPANCY = 4; // Flag set if the game tracked occupancy
+    static final byte INPUT = 1;
+    static final byte TICK = 2;
+    static final byte END = 3;
+
+    private ReplayFormat() {
+    }
+}
@@ -0,0 +1,283 @@
+package game.replay;
+
+import game.GameModel;
+import game.config.GameRules;
+import game.input.PlayerCommand;
+import game.simulation.Simulation;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Re-runs a game recorded by ReplayRecorder headlessly, as fast as possible.
+ * The whole replay is read up front, so playback can jump to any frame, restarting
+ * from the beginning when seeking backwards, and check that the game ends as recorded.
+ * A replay can only be played by the rules it was recorded with, and is played with the
+ * free lane and occupancy settings it was recorded with.
+ */
+public class ReplayPlayer {
+    private final int seed;
+    private final GameRules rules;
+    private final byte flags;
+    private final long spawnStream;
+    private final int[] inputFrames;
+    private final byte[] inputCodes;
+    private final int inputCount;
+    private final int[] tickFrames;
+    private final int[] tickNumbers;
+    private final int tickCount;
+    private final int frameCount;
+    private final boolean finished;
+    private final int finalScore;
+    private final int finalHealth;
+    private final int finalLevel;
+
+    private Simulation simulation;
+    private int frame;
+    private int nextInput;
+    private int nextTick;
+
+    /**
+     * Creates a player for parsed replay data, ready to play from the first frame.
+     */
+    private ReplayPlayer(int seed, GameRules rules, byte flags, long spawnStream,
+                         int[] inputFrames, byte[] inputCodes, int inputCount,
+                         int[] tickFrames, int[] tickNumbers, int tickCount, int frameCount,
+                         boolean finished, int finalScore, int finalHealth, int finalLevel) {
+        this.seed = seed;
+        this.rules = rules;
+        this.flags = flags;
+        this.spawnStream = spawnStream;
+        this.inputFrames = inputFrames;
+        this.inputCodes = inputCodes;
+        this.inputCount = inputCount;
+        this.tickFrames = tickFrames;
+        this.tickNumbers = tickNumbers;
+        this.tickCount = tickCount;
+        this.frameCount = frameCount;
+        this.finished = finished;
+        this.finalScore = finalScore;
+        this.finalHealth = finalHealth;
+        this.finalLevel = finalLevel;
+        restart();
+    }
+
+    /**
+     * Reads a replay of a game played by the default rules.
+     *
+     * @param path the replay file
+     * @return a player for the replay
+     * @throws IOException if the file cannot be read or is not a valid replay
+     * @throws IllegalArgumentException if the game was not played by the default rules
+     */
+    public static ReplayPlayer load(Path path) throws IOException {
+        return load(path, GameRules.defaults());
+    }
+
+    /**
+     * Reads a replay, to be played by the given rules. Replays from before rules were
+     * recorded cannot be checked, and are played by the given rules as they are.
+     *
+     * @param path the replay file
+     * @param rules the rules the game was played by (cannot be null)
+     * @return a player for the replay
+     * @throws IOException if the file cannot be read or is not a valid replay
+     * @throws IllegalArgumentException if the game was played by different rules
+     * @throws NullPointerException if rules is null
+     */
+    public static ReplayPlayer load(Path path, GameRules rules) throws IOException {
+        Objects.requireNonNull(rules, "GameRules cannot be null");
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            if (data.getInt() != ReplayFormat.MAGIC) {
+                throw new IOException("Not a supported replay file: " + path);
+            }
+            short version = data.getShort();
+            if (version < 1 || version > ReplayFormat.VERSION) {
+                throw new IOException("Not a supported replay file: " + path);
+            }
+            int seed = data.getInt();
+            byte flags = version >= 2 ? data.get() : 0;
+            long spawnStream = version >= 2 ? data.getLong() : 0;
+            if (version >= 3) {
+                int width = data.getInt();
+                int height = data.getInt();
+                long fingerprint = data.getLong();
+                if (width != rules.getWidth() || height != rules.getHeight()) {
+                    throw new IllegalArgumentException("Replay was recorded on a " + width + "x"
+                            + height + " board, not " + rules.getWidth() + "x" + rules.getHeight()
+                            + ": " + path);
+                }
+                if (fingerprint != rules.getFingerprint()) {
+                    throw new IllegalArgumentException("Replay was recorded with different rules: "
+                            + path);
+                }
+            }
+
+            int[] inputFrames = new int[64];
+            byte[] inputCodes = new byte[64];
+            int inputCount = 0;
+            int[] tickFrames = new int[4];
+            int[] tickNumbers = new int[4];
+            int tickCount = 0;
+            int frameCount = 0;
+            boolean finished = false;
+            int score = 0;
+            int health = 0;
+            int level = 0;
+
+            while (data.hasRemaining() && !finished) {
+                byte type = data.get();
+                if (type == ReplayFormat.INPUT) {
+                    if (inputCount == inputFrames.length) {
+                        inputFrames = Arrays.copyOf(inputFrames, inputCount * 2);
+                        inputCodes = Arrays.copyOf(inputCodes, inputCount * 2);
+                    }
+                    inputFrames[inputCount] = data.getInt();
+                    inputCodes[inputCount++] = data.get();
+                    frameCount = Math.max(frameCount, inputFrames[inputCount - 1]);
+                } else if (type == ReplayFormat.TICK) {
+                    if (tickCount == tickFrames.length) {
+                        tickFrames = Arrays.copyOf(tickFrames, tickCount * 2);
+                        tickNumbers = Arrays.copyOf(tickNumbers, tickCount * 2);
+                    }
+                    tickFrames[tickCount] = data.getInt();
+                    tickNumbers[tickCount++] = data.getInt();
+                    frameCount = Math.max(frameCount, tickFrames[tickCount - 1] + 1);
+                } else if (type == ReplayFormat.END) {
+                    frameCount = data.getInt();
+                    score = data.getInt();
+                    health = data.getInt();
+                    level = data.getInt();
+                    finished = true;
+                } else {
+                    throw new IOException("Unknown replay record type " + type + " in " + path);
+                }
+            }
+
+            return new ReplayPlayer(seed, rules, flags, spawnStream,
+                    inputFrames, inputCodes, inputCount, tickFrames,
+                    tickNumbers, tickCount, frameCount, finished, score, health, level);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay file: " + path, e);
+        }
+    }
+
+    /**
+     * Starts playback again from a new game with the recorded seed, rules and spawning options.
+     * Messages are not logged, as nothing is shown.
+     */
+    public void restart() {
+        GameModel model = new GameModel(text -> { }, rules);
+        model.setEffectLogger(text -> { });
+        model.setRandomSeed(seed);
+        if ((flags & ReplayFormat.SPAWN_PLANNER) != 0) {
+            model.useSpawnPlanner(spawnStream);
+        }
+        if ((flags & ReplayFormat.OCCUPANCY) != 0) {
+            model.setOccupancyTracking(true);
+        }
+        if ((flags & ReplayFormat.FREE_LANES) != 0) {
+            model.setFreeLaneSpawning(true);
+        }
+        simulation = new Simulation(model);
+        frame = 0;
+        nextInput = 0;
+        nextTick = 0;
+    }
+
+    /**
+     * Plays until the given frame is about to run, restarting first if it has already run.
+     *
+     * @param targetFrame the frame to stop before, clamped to the number of frames recorded
+     */
+    public void seek(int targetFrame) {
+        if (targetFrame < frame) {
+            restart();
+        }
+        int stop = Math.min(targetFrame, frameCount);
+        while (frame < stop) {
+            applyInputs();
+            while (nextTick < tickCount && tickFrames[nextTick] == frame) {
+                simulation.setTick(tickNumbers[nextTick++]);
+            }
+            simulation.step();
+            frame++;
+        }
+    }
+
+    /**
+     * Plays every remaining frame, including commands handled after the last frame.
+     */
+    public void playToEnd() {
+        seek(frameCount);
+        applyInputs();
+    }
+
+    /**
+     * Plays the whole replay and checks the game ends with the recorded score, health and level.
+     *
+     * @return true if the final state matches the recording, false otherwise
+     * @throws IllegalStateException if the replay was not finished, so has no final state
+     */
+    public boolean verify() {
+        if (!finished) {
+            throw new IllegalStateException("Replay has no recorded final state");
+        }
+        playToEnd();
+        GameModel model = simulation.getModel();
+        return model.getShip().getScore() == finalScore
+                && model.getShip().getHealth() == finalHealth
+                && model.getLevel() == finalLevel;
+    }
+
+    /**
+     * Applies the recorded commands handled before the current frame.
+     */
+    private void applyInputs() {
+        while (nextInput < inputCount && inputFrames[nextInput] == frame) {
+            simulation.apply(PlayerCommand.fromCode(inputCodes[nextInput++]));
+        }
+    }
+
+    /**
+     * Gets the simulation being played back.
+     *
+     * @return the current simulation
+     */
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Gets the next frame to be played.
+     *
+     * @return the number of frames played so far
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gets the number of frames in the replay.
+     *
+     * @return the number of recorded frames
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Gets the random seed of the recorded game.
+     *
+     * @return the recorded seed
+     */
+    public int getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,154 @@
+package game.replay;
+
+import game.GameModel;
+import game.config.GameRules;
+import game.input.PlayerCommand;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records a game's random seed, rules and spawning options, and every player command tagged
+ * with its frame, to a compact binary file that ReplayPlayer can re-run.
+ * Writes go through a buffer and reach the file in large blocks.
+ */
+public class ReplayRecorder implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private int frames;
+    private int lastTick;
+    private boolean closed;
+
+    /**
+     * Creates a recorder for a game that has not started, writing to the given file and
+     * replacing anything already there. The game's seed, spawn planner stream, rules and
+     * whether it spawns in free lanes and tracks occupancy are written as the header.
+     *
+     * @param path the file to write the replay to
+     * @param model the game to record
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalStateException if the game has no random seed
+     */
+    public ReplayRecorder(Path path, GameModel model) throws IOException {
+        if (!model.hasRandomSeed()) {
+            throw new IllegalStateException("Only seeded games can be recorded");
+        }
+        byte flags = 0;
+        if (model.getSpawnPlanner() != null) {
+            flags |= ReplayFormat.SPAWN_PLANNER;
+        }
+        if (model.isFreeLaneSpawning()) {
+            flags |= ReplayFormat.FREE_LANES;
+        }
+        if (model.getOccupancy() != null) {
+            flags |= ReplayFormat.OCCUPANCY;
+        }
+        GameRules rules = model.getRules();
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(ReplayFormat.MAGIC);
+        buffer.putShort(ReplayFormat.VERSION);
+        buffer.putInt(model.getRandomSeed());
+        buffer.put(flags);
+        buffer.putLong(model.getSpawnPlanner() != null ? model.getSpawnStream() : 0);
+        buffer.putInt(rules.getWidth());
+        buffer.putInt(rules.getHeight());
+        buffer.putLong(rules.getFingerprint());
+    }
+
+    /**
+     * Records a call to GameController.onTick().
+     *
+     * @param tick the tick passed to onTick()
+     */
+    public void recordTick(int tick) {
+        if (frames == 0 || tick != lastTick + 1) {
+            ensureSpace(9);
+            buffer.put(ReplayFormat.TICK);
+            buffer.putInt(frames);
+            buffer.putInt(tick);
+        }
+        lastTick = tick;
+        frames++;
+    }
+
+    /**
+     * Records a command handled before the next call to onTick().
+     *
+     * @param command the handled command
+     */
+    public void recordInput(PlayerCommand command) {
+        ensureSpace(6);
+        buffer.put(ReplayFormat.INPUT);
+        buffer.putInt(frames);
+        buffer.put(command.getCode());
+    }
+
+    /**
+     * Records the final state of the game, then writes everything to the file and closes it.
+     *
+     * @param model the recorded game
+     */
+    public void finish(GameModel model) {
+        ensureSpace(17);
+        buffer.put(ReplayFormat.END);
+        buffer.putInt(frames);
+        buffer.putInt(model.getShip().getScore());
+        buffer.putInt(model.getShip().getHealth());
+        buffer.putInt(model.getLevel());
+        close();
+    }
+
+    /**
+     * Writes any buffered records to the file and closes it.
+     * A replay closed without finish() has no final state to verify against.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the buffer to the file if it cannot fit another record of the given size.
+     *
+     * @param bytes the size of the next record
+     */
+    private void ensureSpace(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered records to the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,162 @@
+package game.simulation;
+
+/**
+ * Paces a game at a fixed simulation rate however often its frames are drawn.
+ * Each frame, the game runs every simulation tick that has fallen due, up to a limit per frame,
+ * so a slow frame is caught up on by running several ticks in the next one. While the game is
+ * still behind after simulating, drawing the frame is skipped so the time goes to catching up.
+ * Ticks that would take the game more than a frame's limit behind are given up on, rather than
+ * letting the game fall further and further behind.
+ *
+ * The game's outcome depends only on the ticks simulated, never on which frames were drawn.
+ */
+public class FrameScheduler {
+    private static final int MAX_SKIPPED_FRAMES = 4; // Frames skipped in a row before one is drawn anyway
+
+    private final TickScheduler ticks;
+    private final int maxTicksPerFrame;
+    private boolean started;
+    private boolean lostThisFrame;
+    private int skippedInRow;
+
+    // Statistics, read by other threads
+    private volatile long frames;
+    private volatile long droppedFrames;
+    private volatile long simulatedTicks;
+    private volatile long lostTicks;
+    private volatile long lagNanos;
+    private volatile long maxLagNanos;
+
+    /**
+     * Creates a scheduler aiming for the given simulation rate.
+     *
+     * @param ticksPerSecond the number of simulation ticks to run per second (must be positive)
+     * @param maxTicksPerFrame the most ticks to run in one frame when catching up (must be positive)
+     * @throws IllegalArgumentException if either argument is not positive
+     */
+    public FrameScheduler(int ticksPerSecond, int maxTicksPerFrame) {
+        if (maxTicksPerFrame <= 0) {
+            throw new IllegalArgumentException("Ticks per frame must be positive");
+        }
+        this.ticks = TickScheduler.fixedRate(ticksPerSecond);
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /**
+     * Starts a frame, working out how many simulation ticks to run in it.
+     * The first frame starts the schedule.
+     *
+     * @param nowNanos the current time, from System.nanoTime()
+     * @return the number of ticks to run before calling endFrame()
+     */
+    public int beginFrame(long nowNanos) {
+        if (!started) {
+            ticks.start(nowNanos);
+            started = true;
+        }
+
+        long due = ticks.ticksDue(nowNanos);
+        lostThisFrame = due > maxTicksPerFrame;
+        if (lostThisFrame) {
+            long lost = due - maxTicksPerFrame;
+            ticks.completed(lost);
+            lostTicks += lost;
+            due = maxTicksPerFrame;
+        }
+        return (int) due;
+    }
+
+    /**
+     * Ends a frame, recording the ticks run and deciding whether to draw it.
+     *
+     * @param ticksRun the number of ticks run since beginFrame()
+     * @param nowNanos the current time, from System.nanoTime()
+     * @return true if the frame should be drawn, false if it is skipped to catch up
+     */
+    public boolean endFrame(int ticksRun, long nowNanos) {
+        ticks.completed(ticksRun);
+        simulatedTicks += ticksRun;
+        frames++;
+
+        long lag = ticks.lagNanos(nowNanos);
+        lagNanos = lag;
+        if (lag > maxLagNanos) {
+            maxLagNanos = lag;
+        }
+
+        boolean behind = lostThisFrame || ticks.ticksDue(nowNanos) > 0;
+        if (behind && skippedInRow < MAX_SKIPPED_FRAMES) {
+            skippedInRow++;
+            droppedFrames++;
+            return false;
+        }
+        skippedInRow = 0;
+        return true;
+    }
+
+    /**
+     * Lets the ticks due pass without running them, such as while the game is paused,
+     * so the game does not try to catch up on them afterwards.
+     *
+     * @param nowNanos the current time, from System.nanoTime()
+     */
+    public void skipDueTicks(long nowNanos) {
+        if (started) {
+            ticks.completed(ticks.ticksDue(nowNanos));
+        }
+    }
+
+    /**
+     * Gets the number of frames ended.
+     *
+     * @return the number of frames
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Gets the number of frames not drawn so the game could catch up.
+     *
+     * @return the number of skipped frames
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Gets the number of simulation ticks run.
+     *
+     * @return the number of ticks run
+     */
+    public long getSimulatedTicks() {
+        return simulatedTicks;
+    }
+
+    /**
+     * Gets the number of ticks given up on because the game fell too far behind.
+     *
+     * @return the number of ticks never run
+     */
+    public long getLostTicks() {
+        return lostTicks;
+    }
+
+    /**
+     * Gets how far behind schedule the game was at the end of the last frame.
+     *
+     * @return the lag in nanoseconds
+     */
+    public long getLagNanos() {
+        return lagNanos;
+    }
+
+    /**
+     * Gets the largest lag at the end of any frame.
+     *
+     * @return the largest lag in nanoseconds
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+}
@@ -0,0 +1,109 @@
+package game.simulation;
+
+import game.GameModel;
+import game.config.GameRules;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs a Simulation on the calling thread, paced by a TickScheduler, without any display.
+ * Used for balance testing and load tests, where games need to run faster than the UI allows.
+ */
+public class HeadlessRunner {
+    private final Simulation simulation;
+    private final TickScheduler scheduler;
+    private boolean stopOnShipDestroyed;
+
+    /**
+     * Creates a runner for the given simulation.
+     *
+     * @param simulation the simulation to run
+     * @param scheduler the scheduler deciding when ticks run
+     */
+    public HeadlessRunner(Simulation simulation, TickScheduler scheduler) {
+        this.simulation = simulation;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Sets whether a run ends early once the ship has no health left.
+     *
+     * @param stopOnShipDestroyed true to end runs when the ship is destroyed
+     */
+    public void setStopOnShipDestroyed(boolean stopOnShipDestroyed) {
+        this.stopOnShipDestroyed = stopOnShipDestroyed;
+    }
+
+    /**
+     * Runs the simulation for up to the given number of ticks.
+     *
+     * @param maxTicks the maximum number of ticks to run
+     * @return a report of the run
+     */
+    public SimulationReport run(long maxTicks) {
+        long start = System.nanoTime();
+        long ticksRun = 0;
+        scheduler.start(start);
+
+        while (ticksRun < maxTicks && !isFinished()) {
+            long now = System.nanoTime();
+            long due = Math.min(scheduler.ticksDue(now), maxTicks - ticksRun);
+            if (due == 0) {
+                LockSupport.parkNanos(scheduler.nanosUntilNextTick(now));
+                continue;
+            }
+
+            long ran = 0;
+            while (ran < due && !isFinished()) {
+                simulation.step();
+                ran++;
+            }
+            scheduler.completed(ran);
+            ticksRun += ran;
+        }
+
+        GameModel model = simulation.getModel();
+        return new SimulationReport(ticksRun, System.nanoTime() - start,
+                model.getShip().getScore(), model.getShip().getHealth(), model.getLevel());
+    }
+
+    /**
+     * Checks if the run should end before its tick limit.
+     *
+     * @return true if the run should stop, false otherwise
+     */
+    private boolean isFinished() {
+        return stopOnShipDestroyed && simulation.isShipDestroyed();
+    }
+
+    /**
+     * Runs a seeded game headlessly and prints a report.
+     * Arguments are the number of ticks, the random seed, optionally a
+     * tick rate per second (0 for as fast as possible), and optionally a
+     * GameRules .properties file, such as one with a larger board for load tests.
+     *
+     * @param args the command line arguments
+     * @throws IOException if the rules file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: HeadlessRunner <ticks> <seed> [ticksPerSecond] [rulesFile]");
+            System.exit(1);
+        }
+        long ticks = Long.parseLong(args[0]);
+        int seed = Integer.parseInt(args[1]);
+        int ticksPerSecond = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        TickScheduler scheduler = ticksPerSecond > 0
+                ? TickScheduler.fixedRate(ticksPerSecond)
+                : TickScheduler.unlimited();
+        GameRules rules = args.length > 3 ? GameRules.load(Path.of(args[3])) : GameRules.defaults();
+
+        GameModel model = new GameModel(text -> { }, rules);
+        model.setEffectLogger(text -> { });
+        model.setRandomSeed(seed);
+        HeadlessRunner runner = new HeadlessRunner(new Simulation(model), scheduler);
+        System.out.println(runner.run(ticks));
+    }
+}
@@ -0,0 +1,186 @@
+package game.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs many independent simulations in parallel on a work-stealing ForkJoinPool.
+ *
+ * Each session is a Simulation with its own GameModel, so sessions share no game state
+ * and only one thread steps a given session at a time. Sessions are advanced in batches
+ * of ticks, split into tasks over ranges of sessions so idle workers can steal work.
+ */
+public class SessionManager implements AutoCloseable {
+    private static final int TASKS_PER_WORKER = 8; // Spare tasks per worker for stealing
+
+    private final ForkJoinPool pool;
+    private final int ticksPerBatch;
+    private final List<Simulation> sessions = new ArrayList<>();
+
+    private long[] batchTicks = new long[0];
+    private boolean stopOnShipDestroyed;
+    private long totalSessionTicks;
+    private long totalElapsedNanos;
+
+    /**
+     * Creates a manager stepping sessions on the given number of threads.
+     *
+     * @param parallelism the number of worker threads to use
+     * @param ticksPerBatch the number of ticks each session advances per batch
+     * @throws IllegalArgumentException if either argument is not positive
+     */
+    public SessionManager(int parallelism, int ticksPerBatch) {
+        if (parallelism <= 0 || ticksPerBatch <= 0) {
+            throw new IllegalArgumentException("Parallelism and ticks per batch must be positive");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.ticksPerBatch = ticksPerBatch;
+    }
+
+    /**
+     * Adds a session to be stepped by later batches.
+     * The simulation must not be stepped by anything else while the manager owns it.
+     *
+     * @param simulation the session to add
+     * @return the index of the session
+     */
+    public int addSession(Simulation simulation) {
+        sessions.add(simulation);
+        return sessions.size() - 1;
+    }
+
+    /**
+     * Sets whether sessions stop advancing once their ship has no health left.
+     *
+     * @param stopOnShipDestroyed true to stop stepping sessions whose ship is destroyed
+     */
+    public void setStopOnShipDestroyed(boolean stopOnShipDestroyed) {
+        this.stopOnShipDestroyed = stopOnShipDestroyed;
+    }
+
+    /**
+     * Advances every session by one batch of ticks, returning once all have finished.
+     *
+     * @return the total number of ticks run across all sessions
+     */
+    public long runBatch() {
+        int count = sessions.size();
+        if (batchTicks.length < count) {
+            batchTicks = new long[count];
+        }
+
+        long start = System.nanoTime();
+        int grain = Math.max(1, count / (pool.getParallelism() * TASKS_PER_WORKER));
+        pool.invoke(new StepTask(0, count, grain));
+        totalElapsedNanos += System.nanoTime() - start;
+
+        long ticks = 0;
+        for (int i = 0; i < count; i++) {
+            ticks += batchTicks[i];
+        }
+        totalSessionTicks += ticks;
+        return ticks;
+    }
+
+    /**
+     * Runs batches until every session has advanced the given number of ticks
+     * or, when stopping on destroyed ships, until no session can advance further.
+     *
+     * @param ticks the number of ticks to advance each session by
+     */
+    public void run(long ticks) {
+        for (long done = 0; done < ticks; done += ticksPerBatch) {
+            if (runBatch() == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the sessions owned by this manager.
+     *
+     * @return an unmodifiable list of the sessions
+     */
+    public List<Simulation> getSessions() {
+        return Collections.unmodifiableList(sessions);
+    }
+
+    /**
+     * Gets the total number of ticks run across all sessions.
+     *
+     * @return the number of session-ticks run so far
+     */
+    public long getTotalSessionTicks() {
+        return totalSessionTicks;
+    }
+
+    /**
+     * Gets the aggregate throughput of all batches run so far.
+     *
+     * @return the session-ticks run per second of wall-clock time, or 0 if none have run
+     */
+    public double getSessionTicksPerSecond() {
+        return totalElapsedNanos == 0 ? 0 : totalSessionTicks * 1e9 / totalElapsedNanos;
+    }
+
+    /**
+     * Shuts down the worker threads.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Advances one session by up to a batch of ticks.
+     *
+     * @param index the index of the session
+     */
+    private void stepSession(int index) {
+        Simulation simulation = sessions.get(index);
+        long ran = 0;
+        while (ran < ticksPerBatch && !(stopOnShipDestroyed && simulation.isShipDestroyed())) {
+            simulation.step();
+            ran++;
+        }
+        batchTicks[index] = ran;
+    }
+
+    /**
+     * Task stepping a range of sessions, split in half until it is small enough.
+     */
+    @SuppressWarnings("serial") // Never serialized, and holds the enclosing instance
+    private final class StepTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        /**
+         * Creates a task for the sessions from index from (inclusive) to index to (exclusive).
+         *
+         * @param from the first session index
+         * @param to one past the last session index
+         * @param grain the largest number of sessions stepped without splitting
+         */
+        StepTask(int from, int to, int grain) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    stepSession(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new StepTask(from, middle, grain), new StepTask(middle, to, grain));
+        }
+    }
+}
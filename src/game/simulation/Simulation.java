@@ -0,0 +1,169 @@
+package game.simulation;
+
+import game.GameModel;
+import game.bot.Agent;
+import game.bot.BoardView;
+import game.config.GameRules;
+import game.input.PlayerCommand;
+
+/**
+ * Advances a GameModel one tick at a time without a UI.
+ * Performs the same steps, in the same order, as GameController.onTick(),
+ * apart from rendering, and applies player commands as GameController does.
+ */
+public class Simulation {
+    private final GameModel model;
+    private int tick;
+    private boolean paused;
+    private Agent agent; // null unless a bot is playing
+    private BoardView board; // what the bot sees, refilled before each step
+
+    /**
+     * Creates a simulation of the given model, starting from tick 0.
+     * Adds the model's ship to its space objects, as GameController.startGame() does.
+     *
+     * @param model the model to simulate
+     */
+    public Simulation(GameModel model) {
+        this(model, 0);
+    }
+
+    /**
+     * Creates a simulation of the given model, starting from the given tick.
+     * Adds the model's ship to its space objects, as GameController.startGame() does.
+     *
+     * @param model the model to simulate
+     * @param firstTick the tick number passed to the model on the first step
+     */
+    public Simulation(GameModel model, int firstTick) {
+        this(model, firstTick, true);
+    }
+
+    /**
+     * Creates a simulation, optionally adding the model's ship to its space objects.
+     *
+     * @param model the model to simulate
+     * @param firstTick the tick number passed to the model on the first step
+     * @param addShip true to add the ship, false if the model already holds it
+     */
+    private Simulation(GameModel model, int firstTick, boolean addShip) {
+        this.model = model;
+        this.tick = firstTick;
+        if (addShip) {
+            model.addObject(model.getShip());
+        }
+    }
+
+    /**
+     * Creates a simulation that carries on a game already in progress, such as one restored
+     * from a snapshot. Unlike the constructors, does not add the model's ship.
+     *
+     * @param model the model to simulate
+     * @param nextTick the tick number passed to the model on the first step
+     * @return a simulation of the model
+     */
+    public static Simulation resume(GameModel model, int nextTick) {
+        return new Simulation(model, nextTick, false);
+    }
+
+    /**
+     * Lets a bot play the game. Before each step, the bot is shown the board and its
+     * command is applied as apply() would apply it, without any input being parsed.
+     *
+     * @param agent the bot to play the game, or null to stop it playing
+     */
+    public void setAgent(Agent agent) {
+        this.agent = agent;
+        this.board = agent == null ? null
+                : new BoardView(model.getRules().getWidth(), model.getRules().getHeight());
+    }
+
+    /**
+     * Advances the game by a single tick, after applying the bot's command if a bot is playing.
+     * While paused, only the tick number advances, as a UI keeps counting ticks.
+     */
+    public void step() {
+        if (agent != null) {
+            board.update(model);
+            PlayerCommand command = agent.act(board, tick);
+            if (command != null) {
+                apply(command);
+            }
+        }
+        if (paused) {
+            tick++;
+            return;
+        }
+        model.updateGame(tick); // Update GameObjects
+        model.checkCollisions(); // Check for Collisions
+        model.spawnObjects(); // Handles new spawns
+        model.levelUp(); // Level up when score threshold is met
+        tick++;
+    }
+
+    /**
+     * Applies a player command to the game, without logging it.
+     * Movements that would leave the board are ignored, or wrap around if the rules say so.
+     *
+     * @param command the command to apply
+     */
+    public void apply(PlayerCommand command) {
+        switch (command) {
+            case FIRE:
+                model.fireBullet();
+                break;
+            case PAUSE:
+                paused = !paused;
+                break;
+            default:
+                GameRules rules = model.getRules();
+                model.getShip().tryMove(command.getDirection(),
+                        rules.getWidth(), rules.getHeight(), rules.getShipBoundary());
+        }
+    }
+
+    /**
+     * Checks if the game is paused.
+     *
+     * @return true if steps currently leave the game unchanged, false otherwise
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Sets the tick number passed to the model on the next step.
+     *
+     * @param tick the next tick number
+     */
+    public void setTick(int tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Checks if the player's ship has run out of health.
+     *
+     * @return true if the ship has no health left, false otherwise
+     */
+    public boolean isShipDestroyed() {
+        return model.getShip().getHealth() <= 0;
+    }
+
+    /**
+     * Gets the tick number that will be passed to the model on the next step.
+     *
+     * @return the next tick number
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the model being simulated.
+     *
+     * @return the simulated model
+     */
+    public GameModel getModel() {
+        return model;
+    }
+}
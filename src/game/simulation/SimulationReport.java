@@ -0,0 +1,89 @@
+package game.simulation;
+
+/**
+ * Summary of a headless run, including how fast the simulation ran.
+ */
+public class SimulationReport {
+    private final long ticks;
+    private final long elapsedNanos;
+    private final int score;
+    private final int health;
+    private final int level;
+
+    /**
+     * Creates a report of a finished run.
+     *
+     * @param ticks the number of ticks run
+     * @param elapsedNanos the wall-clock time taken by the run, in nanoseconds
+     * @param score the ship's score at the end of the run
+     * @param health the ship's health at the end of the run
+     * @param level the game level at the end of the run
+     */
+    public SimulationReport(long ticks, long elapsedNanos, int score, int health, int level) {
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.score = score;
+        this.health = health;
+        this.level = level;
+    }
+
+    /**
+     * Gets the number of ticks run.
+     *
+     * @return the number of ticks
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the wall-clock time taken by the run.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the average number of ticks run per second of wall-clock time.
+     *
+     * @return the tick rate, or 0 if no time elapsed
+     */
+    public double getTicksPerSecond() {
+        return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the ship's score at the end of the run.
+     *
+     * @return the final score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the ship's health at the end of the run.
+     *
+     * @return the final health
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Gets the game level at the end of the run.
+     *
+     * @return the final level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ticks in %.3f s (%.0f ticks/s), score %d, health %d, level %d",
+                ticks, elapsedNanos / 1e9, getTicksPerSecond(), score, health, level);
+    }
+}
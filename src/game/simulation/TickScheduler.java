@@ -0,0 +1,126 @@
+package game.simulation;
+
+/**
+ * Fixed-timestep scheduler deciding how many ticks are due at a point in time.
+ * Ticks are scheduled from a fixed start time rather than from the previous tick,
+ * so late ticks are caught up on instead of slowing the game down.
+ * An unlimited scheduler always has ticks due, for running as fast as possible.
+ */
+public class TickScheduler {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long tickPeriodNanos; // 0 when unlimited
+    private long startNanos;
+    private long completedTicks;
+
+    /**
+     * Creates a scheduler with the given time between ticks.
+     *
+     * @param tickPeriodNanos the nanoseconds between ticks, or 0 for no limit
+     */
+    private TickScheduler(long tickPeriodNanos) {
+        this.tickPeriodNanos = tickPeriodNanos;
+    }
+
+    /**
+     * Creates a scheduler that runs the given number of ticks every second.
+     *
+     * @param ticksPerSecond the target tick rate
+     * @return the new scheduler
+     * @throws IllegalArgumentException if ticksPerSecond is not positive
+     */
+    public static TickScheduler fixedRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive");
+        }
+        return new TickScheduler(NANOS_PER_SECOND / ticksPerSecond);
+    }
+
+    /**
+     * Creates a scheduler that lets ticks run as fast as possible.
+     *
+     * @return the new scheduler
+     */
+    public static TickScheduler unlimited() {
+        return new TickScheduler(0);
+    }
+
+    /**
+     * Starts scheduling ticks from the given time.
+     *
+     * @param nowNanos the current time, from System.nanoTime()
+     */
+    public void start(long nowNanos) {
+        this.startNanos = nowNanos;
+        this.completedTicks = 0;
+    }
+
+    /**
+     * Gets the number of ticks that should have run by the given time but have not.
+     *
+     * @param nowNanos the current time, from System.nanoTime()
+     * @return the number of ticks due, or Long.MAX_VALUE if the scheduler is unlimited
+     */
+    public long ticksDue(long nowNanos) {
+        if (isUnlimited()) {
+            return Long.MAX_VALUE;
+        }
+        long scheduled = (nowNanos - startNanos) / tickPeriodNanos;
+        return Math.max(0, scheduled - completedTicks);
+    }
+
+    /**
+     * Records that ticks have been run.
+     *
+     * @param ticks the number of ticks that were run
+     */
+    public void completed(long ticks) {
+        completedTicks += ticks;
+    }
+
+    /**
+     * Gets how long the oldest tick still to be run has been due.
+     *
+     * @param nowNanos the current time, from System.nanoTime()
+     * @return the nanoseconds the simulation is behind schedule, or 0 if it is on time
+     */
+    public long lagNanos(long nowNanos) {
+        if (isUnlimited()) {
+            return 0;
+        }
+        long nextTickNanos = startNanos + (completedTicks + 1) * tickPeriodNanos;
+        return Math.max(0, nowNanos - nextTickNanos);
+    }
+
+    /**
+     * Gets the time left until the next tick is due.
+     *
+     * @param nowNanos the current time, from System.nanoTime()
+     * @return the nanoseconds until the next tick, or 0 if a tick is already due
+     */
+    public long nanosUntilNextTick(long nowNanos) {
+        if (isUnlimited()) {
+            return 0;
+        }
+        long nextTickNanos = startNanos + (completedTicks + 1) * tickPeriodNanos;
+        return Math.max(0, nextTickNanos - nowNanos);
+    }
+
+    /**
+     * Gets the number of ticks recorded as run since the scheduler started.
+     *
+     * @return the number of completed ticks
+     */
+    public long getCompletedTicks() {
+        return completedTicks;
+    }
+
+    /**
+     * Checks if the scheduler lets ticks run as fast as possible.
+     *
+     * @return true if there is no limit on the tick rate, false otherwise
+     */
+    public boolean isUnlimited() {
+        return tickPeriodNanos == 0;
+    }
+}
@@ -0,0 +1,29 @@
+package game.snapshot;
+
+/**
+ * Constants describing the binary snapshot format shared by SnapshotWriter and SnapshotReader.
+ *
+ * A snapshot is a fixed-size header followed by the game's objects stored column by column:
+ * every object's type id (byte), then every x coordinate (int), then every y coordinate (int).
+ * The header holds, in order: MAGIC (int), VERSION (short), tick (int), level (int),
+ * spawn rate (double), flags (byte), random seed (int), random state (long), spawn planner key
+ * and step (longs, 0 unless SPAWN_PLANNER is set), ship x, ship y, ship health, ship score
+ * and object count (ints), then board width and height (ints) and the fingerprint of the
+ * game's rules (long).
+ * MAGIC is written last, so a snapshot interrupted part way through is never read as valid.
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x534E4150; // "SNAP"
+    static final short VERSION = 3;
+    static final int HEADER_SIZE = 87; // Bytes before the first object
+    static final int BYTES_PER_OBJECT = 9; // Type byte plus two int coordinates
+    static final int MAX_OBJECTS = (Integer.MAX_VALUE - HEADER_SIZE) / BYTES_PER_OBJECT;
+    static final byte SEEDED = 1; // Flag set if the game has a known random seed
+    static final byte ENTITY_STORE = 2; // Flag set if the game kept its objects in an EntityStore
+    static final byte SPAWN_PLANNER = 4; // Flag set if the game spawned with a SpawnPlanner
+    static final byte FREE_LANES = 8; // Flag set if the game spawned in free lanes
+    static final byte OCCUPANCY = 16; // Flag set if the game tracked occupancy
+
+    private SnapshotFormat() {
+    }
+}
@@ -0,0 +1,220 @@
+package game.snapshot;
+
+import game.GameModel;
+import game.config.GameRules;
+import game.core.DescendingEnemy;
+import game.core.EntityType;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.spawn.CounterRandom;
+import game.spawn.SpawnPlanner;
+import game.utility.Logger;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Reads a snapshot written by SnapshotWriter and rebuilds the saved game from it.
+ * The file is memory-mapped, so large snapshots are read without copying them first.
+ * A snapshot records the board size and a fingerprint of the rules it was played by,
+ * and can only be restored with the same rules.
+ */
+public class SnapshotReader {
+    private final MappedByteBuffer buffer;
+    private final int tick;
+    private final int level;
+    private final double spawnRate;
+    private final byte flags;
+    private final int seed;
+    private final long randomState;
+    private final long plannerKey;
+    private final long plannerStep;
+    private final int shipX;
+    private final int shipY;
+    private final int shipHealth;
+    private final int shipScore;
+    private final int count;
+    private final int width;
+    private final int height;
+    private final long rulesFingerprint;
+
+    /**
+     * Creates a reader from a mapped snapshot, reading its header.
+     *
+     * @param buffer the mapped file, positioned after the version
+     */
+    private SnapshotReader(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.tick = buffer.getInt();
+        this.level = buffer.getInt();
+        this.spawnRate = buffer.getDouble();
+        this.flags = buffer.get();
+        this.seed = buffer.getInt();
+        this.randomState = buffer.getLong();
+        this.plannerKey = buffer.getLong();
+        this.plannerStep = buffer.getLong();
+        this.shipX = buffer.getInt();
+        this.shipY = buffer.getInt();
+        this.shipHealth = buffer.getInt();
+        this.shipScore = buffer.getInt();
+        this.count = buffer.getInt();
+        this.width = buffer.getInt();
+        this.height = buffer.getInt();
+        this.rulesFingerprint = buffer.getLong();
+    }
+
+    /**
+     * Opens a snapshot file.
+     *
+     * @param path the snapshot file
+     * @return a reader for the snapshot
+     * @throws IOException if the file cannot be read or is not a complete, valid snapshot
+     */
+    public static SnapshotReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SnapshotFormat.HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a valid snapshot file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != SnapshotFormat.MAGIC
+                    || buffer.getShort() != SnapshotFormat.VERSION) {
+                throw new IOException("Not a supported or complete snapshot file: " + path);
+            }
+
+            SnapshotReader reader = new SnapshotReader(buffer);
+            long expected = SnapshotFormat.HEADER_SIZE
+                    + (long) reader.count * SnapshotFormat.BYTES_PER_OBJECT;
+            if (reader.count < 0 || size != expected) {
+                throw new IOException("Truncated snapshot file: " + path);
+            }
+            return reader;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot file: " + path, e);
+        }
+    }
+
+    /**
+     * Rebuilds a saved game that was played by the default rules.
+     *
+     * @param logger the logger for the new game
+     * @return a new game in the saved state
+     * @throws IOException if the snapshot holds an unknown object type
+     * @throws IllegalArgumentException if the game was not played by the default rules
+     * @deprecated use restore(Logger, GameRules) with the rules the game was played by
+     */
+    @Deprecated
+    public GameModel restore(Logger logger) throws IOException {
+        return restore(logger, GameRules.defaults());
+    }
+
+    /**
+     * Rebuilds a saved game that was played by the given rules. The new game continues
+     * exactly as the saved one would have, including the objects it goes on to spawn, and
+     * spawns in free lanes and tracks occupancy if the saved one did.
+     *
+     * @param logger the logger for the new game
+     * @param rules the rules the saved game was played by (cannot be null)
+     * @return a new game in the saved state
+     * @throws IOException if the snapshot holds an unknown object type
+     * @throws IllegalArgumentException if the saved game was played by different rules
+     * @throws NullPointerException if rules is null
+     */
+    public GameModel restore(Logger logger, GameRules rules) throws IOException {
+        Objects.requireNonNull(rules, "GameRules cannot be null");
+        if (width != rules.getWidth() || height != rules.getHeight()) {
+            throw new IllegalArgumentException("Snapshot was saved on a " + width + "x" + height
+                    + " board, not " + rules.getWidth() + "x" + rules.getHeight());
+        }
+        if (rulesFingerprint != rules.getFingerprint()) {
+            throw new IllegalArgumentException("Snapshot was saved with different rules");
+        }
+
+        Ship ship = new Ship(shipX, shipY, shipHealth);
+        ship.addScore(shipScore);
+
+        GameModel model = new GameModel(logger, ship, rules);
+        model.setProgress(level, spawnRate);
+        if ((flags & SnapshotFormat.SEEDED) != 0) {
+            model.setRandomSeed(seed);
+        }
+        model.setRandomState(randomState);
+        if ((flags & SnapshotFormat.SPAWN_PLANNER) != 0) {
+            SpawnPlanner planner = new SpawnPlanner(new CounterRandom(plannerKey), rules.getWidth());
+            planner.setStep(plannerStep);
+            model.setSpawnPlanner(planner);
+        }
+        if ((flags & SnapshotFormat.ENTITY_STORE) != 0) {
+            model.useEntityStore();
+        }
+        if ((flags & SnapshotFormat.OCCUPANCY) != 0) {
+            model.setOccupancyTracking(true);
+        }
+        if ((flags & SnapshotFormat.FREE_LANES) != 0) {
+            model.setFreeLaneSpawning(true);
+        }
+
+        int typesStart = SnapshotFormat.HEADER_SIZE;
+        IntBuffer xs = buffer.slice(typesStart + count, count * Integer.BYTES).asIntBuffer();
+        IntBuffer ys = buffer.slice(typesStart + count + count * Integer.BYTES,
+                count * Integer.BYTES).asIntBuffer();
+        for (int i = 0; i < count; i++) {
+            byte type = buffer.get(typesStart + i);
+            if (type == EntityType.SHIP) {
+                model.addObject(ship);
+            } else if (type >= 0 && type < EntityType.COUNT) {
+                SpaceObject object = EntityType.create(type, xs.get(i), ys.get(i));
+                if (object instanceof DescendingEnemy descending) {
+                    descending.setMovePeriod(rules.getEnemyMovePeriod());
+                }
+                model.addObject(object);
+            } else {
+                throw new IOException("Unknown object type in snapshot: " + type);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Gets the number of the next tick the saved game would have run.
+     * Pass it to Simulation.resume() to carry on the restored game.
+     *
+     * @return the saved tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the saved level.
+     *
+     * @return the saved level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the saved score.
+     *
+     * @return the saved score
+     */
+    public int getScore() {
+        return shipScore;
+    }
+
+    /**
+     * Gets the number of objects in the saved game, including the player ship.
+     *
+     * @return the number of saved objects
+     */
+    public int getObjectCount() {
+        return count;
+    }
+}
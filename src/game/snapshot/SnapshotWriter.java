@@ -0,0 +1,282 @@
+package game.snapshot;
+
+import game.GameModel;
+import game.core.EntityType;
+import game.core.Ship;
+import game.spawn.SpawnPlanner;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically saves the full state of a game to a memory-mapped snapshot file.
+ * The game thread only copies the state into reused primitive arrays; a background thread
+ * then writes that copy to the file, so the game keeps running while the snapshot is saved.
+ * If the previous snapshot is still being written when the next is due, the new one is skipped
+ * rather than making the game wait.
+ */
+public class SnapshotWriter implements AutoCloseable {
+    private final Path path;
+    private final int intervalTicks;
+    private final ExecutorService executor;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private volatile IOException failure;
+    private volatile long writtenCount;
+    private long skippedCount;
+    private boolean closed;
+
+    // Copy of the game being written; only touched by the game thread while writing is false
+    private byte[] types = new byte[0];
+    private int[] xs = new int[0];
+    private int[] ys = new int[0];
+    private int count;
+    private int tick;
+    private int level;
+    private double spawnRate;
+    private byte flags;
+    private int seed;
+    private long randomState;
+    private long plannerKey;
+    private long plannerStep;
+    private int shipX;
+    private int shipY;
+    private int shipHealth;
+    private int shipScore;
+    private int width;
+    private int height;
+    private long rulesFingerprint;
+
+    /**
+     * Creates a writer that saves a snapshot to the given file every intervalTicks ticks,
+     * replacing the previous snapshot.
+     *
+     * @param path the file to write snapshots to
+     * @param intervalTicks the number of ticks between snapshots (must be positive)
+     * @throws IllegalArgumentException if intervalTicks is not positive
+     */
+    public SnapshotWriter(Path path, int intervalTicks) {
+        if (intervalTicks <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        this.path = Objects.requireNonNull(path, "Path cannot be null");
+        this.intervalTicks = intervalTicks;
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Saves a snapshot if one is due. Call once per tick, after the game has been updated.
+     *
+     * @param model the game to save
+     * @param nextTick the number of the next tick the game will run
+     * @return true if a snapshot was started, false otherwise
+     */
+    public boolean onTick(GameModel model, int nextTick) {
+        if (nextTick % intervalTicks != 0) {
+            return false;
+        }
+        return capture(model, nextTick);
+    }
+
+    /**
+     * Copies the game's state and starts writing it to the file in the background.
+     *
+     * @param model the game to save
+     * @param nextTick the number of the next tick the game will run, so a restored game
+     *                 can carry on from it
+     * @return true if a snapshot was started, false if the previous one is still being written
+     * @throws IllegalStateException if the writer is closed
+     * @throws IllegalArgumentException if the game holds an object snapshots cannot represent
+     */
+    public boolean capture(GameModel model, int nextTick) {
+        if (closed) {
+            throw new IllegalStateException("Snapshot writer is closed");
+        }
+        if (writing.get()) {
+            skippedCount++;
+            return false;
+        }
+
+        copy(model, nextTick);
+        writing.set(true);
+        executor.execute(this::write);
+        return true;
+    }
+
+    /**
+     * Copies the game's state into the reused arrays and fields.
+     *
+     * @param model the game to copy
+     * @param nextTick the number of the next tick the game will run
+     */
+    private void copy(GameModel model, int nextTick) {
+        int objects = model.getObjectCount();
+        if (objects > SnapshotFormat.MAX_OBJECTS) {
+            throw new IllegalArgumentException("Too many objects for a snapshot: " + objects);
+        }
+        if (objects > types.length) {
+            int capacity = Math.max(objects, types.length + (types.length >> 1));
+            types = new byte[capacity];
+            xs = new int[capacity];
+            ys = new int[capacity];
+        }
+        count = model.copyObjects(types, xs, ys);
+        for (int i = 0; i < count; i++) {
+            if (types[i] == EntityType.UNKNOWN) {
+                throw new IllegalArgumentException("Game holds an object snapshots cannot represent");
+            }
+        }
+
+        Ship ship = model.getShip();
+        tick = nextTick;
+        level = model.getLevel();
+        spawnRate = model.getSpawnRate();
+        flags = 0;
+        if (model.hasRandomSeed()) {
+            flags |= SnapshotFormat.SEEDED;
+        }
+        if (model.isUsingEntityStore()) {
+            flags |= SnapshotFormat.ENTITY_STORE;
+        }
+        if (model.isFreeLaneSpawning()) {
+            flags |= SnapshotFormat.FREE_LANES;
+        }
+        if (model.getOccupancy() != null) {
+            flags |= SnapshotFormat.OCCUPANCY;
+        }
+        seed = model.getRandomSeed();
+        randomState = model.getRandomState();
+        SpawnPlanner planner = model.getSpawnPlanner();
+        plannerKey = 0;
+        plannerStep = 0;
+        if (planner != null) {
+            flags |= SnapshotFormat.SPAWN_PLANNER;
+            plannerKey = planner.getRandom().getKey();
+            plannerStep = planner.getStep();
+        }
+        shipX = ship.getX();
+        shipY = ship.getY();
+        shipHealth = ship.getHealth();
+        shipScore = ship.getScore();
+        width = model.getRules().getWidth();
+        height = model.getRules().getHeight();
+        rulesFingerprint = model.getRules().getFingerprint();
+    }
+
+    /**
+     * Writes the copied state to the file. Runs on the background thread.
+     */
+    private void write() {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = SnapshotFormat.HEADER_SIZE + (long) count * SnapshotFormat.BYTES_PER_OBJECT;
+            if (channel.size() > size) {
+                channel.truncate(size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            // Invalidate the old snapshot before overwriting it
+            buffer.putInt(0, 0);
+            buffer.force(0, Integer.BYTES);
+
+            buffer.position(SnapshotFormat.HEADER_SIZE);
+            buffer.put(types, 0, count);
+            buffer.asIntBuffer().put(xs, 0, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            buffer.asIntBuffer().put(ys, 0, count);
+
+            buffer.position(Integer.BYTES);
+            buffer.putShort(SnapshotFormat.VERSION);
+            buffer.putInt(tick);
+            buffer.putInt(level);
+            buffer.putDouble(spawnRate);
+            buffer.put(flags);
+            buffer.putInt(seed);
+            buffer.putLong(randomState);
+            buffer.putLong(plannerKey);
+            buffer.putLong(plannerStep);
+            buffer.putInt(shipX);
+            buffer.putInt(shipY);
+            buffer.putInt(shipHealth);
+            buffer.putInt(shipScore);
+            buffer.putInt(count);
+            buffer.putInt(width);
+            buffer.putInt(height);
+            buffer.putLong(rulesFingerprint);
+            buffer.force();
+
+            buffer.putInt(0, SnapshotFormat.MAGIC);
+            buffer.force(0, Integer.BYTES);
+            writtenCount++;
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            writing.set(false);
+        }
+    }
+
+    /**
+     * Waits for the snapshot being written, if any, to reach the file.
+     *
+     * @throws IOException if the last snapshot could not be written
+     */
+    public void flush() throws IOException {
+        while (writing.get()) {
+            Thread.onSpinWait();
+        }
+        IOException last = failure;
+        if (last != null) {
+            failure = null;
+            throw last;
+        }
+    }
+
+    /**
+     * Gets the number of snapshots written to the file.
+     *
+     * @return the number of completed snapshots
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * Gets the number of snapshots skipped because the previous one was still being written.
+     *
+     * @return the number of skipped snapshots
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Waits for the snapshot being written, then stops the background thread.
+     *
+     * @throws IOException if the last snapshot could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,122 @@
+package game.spawn;
+
+/**
+ * Counter-based random numbers built on the SplitMix64 mixing function.
+ * Each number is a hash of a key, a counter and a slot rather than the next state of a
+ * sequence, so any number can be computed directly without generating the ones before it.
+ * Numbers for many ticks can therefore be made in one batch, or on several threads, and come
+ * out the same as if they were made one at a time. Instances are immutable and thread-safe.
+ */
+public final class CounterRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53; // 1 / 2^53
+
+    private final long key;
+
+    /**
+     * Creates a generator with the given key. Use forSeed() to create one from a game seed.
+     *
+     * @param key the key, as returned by getKey()
+     */
+    public CounterRandom(long key) {
+        this.key = key;
+    }
+
+    /**
+     * Creates a generator for a seed.
+     *
+     * @param seed the seed
+     * @return a generator whose numbers depend only on the seed
+     */
+    public static CounterRandom forSeed(long seed) {
+        return new CounterRandom(mix64(seed));
+    }
+
+    /**
+     * Creates an independent generator for one of many streams, such as one per game session
+     * run in parallel. Different streams give unrelated numbers for the same counter and slot.
+     *
+     * @param stream the stream id
+     * @return a generator for the stream
+     */
+    public CounterRandom stream(long stream) {
+        return new CounterRandom(mix64(key ^ mix64(stream + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Gets the number for a counter and slot.
+     *
+     * @param counter the counter, such as the number of the tick
+     * @param slot which of the counter's numbers to get
+     * @return a uniformly distributed long
+     */
+    public long get(long counter, int slot) {
+        return slot(counterKey(counter), slot);
+    }
+
+    /**
+     * Gets the key shared by all of a counter's numbers. When several numbers are needed for
+     * the same counter, getting the key once and passing it to slot() saves hashing it again.
+     *
+     * @param counter the counter, such as the number of the tick
+     * @return the counter's key
+     */
+    public long counterKey(long counter) {
+        return mix64(key + counter * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Gets one of a counter's numbers from the counter's key.
+     *
+     * @param counterKey the key returned by counterKey()
+     * @param slot which of the counter's numbers to get
+     * @return a uniformly distributed long, equal to get(counter, slot)
+     */
+    public static long slot(long counterKey, int slot) {
+        return mix64(counterKey + (slot + 1L) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Gets the number for a counter and slot as a double.
+     *
+     * @param counter the counter, such as the number of the tick
+     * @param slot which of the counter's numbers to get
+     * @return a uniformly distributed double from 0 (inclusive) to 1 (exclusive)
+     */
+    public double unit(long counter, int slot) {
+        return (get(counter, slot) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Gets the number for a counter and slot as an int below a bound.
+     *
+     * @param counter the counter, such as the number of the tick
+     * @param slot which of the counter's numbers to get
+     * @param bound the exclusive upper bound (must be positive)
+     * @return an int from 0 (inclusive) to bound (exclusive)
+     */
+    public int below(long counter, int slot, int bound) {
+        return (int) (((get(counter, slot) >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     * Gets the generator's key, from which it can be recreated.
+     *
+     * @return the key
+     */
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * The SplitMix64 finaliser, a bijective hash of a long.
+     *
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,244 @@
+package game.spawn;
+
+import game.core.EntityType;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Decides which objects spawn on each tick, planning a batch of ticks at a time.
+ * Rates are percentages per tick: a rate of 250 spawns two objects of that kind every tick
+ * and a third half the time. Every decision for a tick depends only on the generator and the
+ * tick's step number, so a game spawns the same objects whatever the batch size, and the
+ * batch is simply planned again when the rates change part way through it.
+ *
+ * Within a tick, objects are listed as asteroids, then enemies, then power-ups.
+ */
+public class SpawnPlanner {
+    public static final int DEFAULT_BATCH_TICKS = 64; // Ticks planned at once
+    private static final int COUNT_SLOT = 0; // Holds all three kinds' count decisions
+    private static final int FIRST_OBJECT_SLOT = 1; // Each object then has a slot of its own
+    private static final int DECISION_BITS = 21; // Bits of the count slot used per kind
+    private static final long DECISION_MASK = (1L << DECISION_BITS) - 1;
+    private static final double DECISION_SCALE = 0x1.0p21; // 2^DECISION_BITS
+
+    private final CounterRandom random;
+    private final int width;
+    private final int batchTicks;
+    private long step;
+
+    // The planned batch: the spawns for step batchStart + i are at stepStarts[i] to stepStarts[i + 1]
+    private long batchStart;
+    private int batchLength;
+    private double asteroidRate = Double.NaN;
+    private double enemyRate = Double.NaN;
+    private double powerUpRate = Double.NaN;
+    private final int[] wholeSpawns = new int[3]; // Objects of each kind spawned every tick
+    private final long[] extraThresholds = new long[3]; // Decisions below this spawn one more
+    private final int[] stepStarts;
+    private byte[] types = new byte[64];
+    private int[] xs = new int[64];
+    private int planned;
+    private int current; // index of the first spawn of the last step returned by next()
+
+    /**
+     * Creates a planner for a board of the given width, planning DEFAULT_BATCH_TICKS at a time.
+     *
+     * @param random the generator to decide with
+     * @param width the number of columns objects can spawn in
+     * @throws IllegalArgumentException if the width is not positive
+     */
+    public SpawnPlanner(CounterRandom random, int width) {
+        this(random, width, DEFAULT_BATCH_TICKS);
+    }
+
+    /**
+     * Creates a planner for a board of the given width.
+     *
+     * @param random the generator to decide with
+     * @param width the number of columns objects can spawn in
+     * @param batchTicks the number of ticks to plan at once
+     * @throws IllegalArgumentException if the width or batch size is not positive
+     */
+    public SpawnPlanner(CounterRandom random, int width, int batchTicks) {
+        if (width <= 0 || batchTicks <= 0) {
+            throw new IllegalArgumentException("Width and batch size must be positive");
+        }
+        this.random = Objects.requireNonNull(random, "Random cannot be null");
+        this.width = width;
+        this.batchTicks = batchTicks;
+        this.stepStarts = new int[batchTicks + 1];
+    }
+
+    /**
+     * Plans the spawns for the next tick. They can then be read with getType() and getX().
+     *
+     * @param asteroidRate the percentage chance per tick of an asteroid
+     * @param enemyRate the percentage chance per tick of an enemy
+     * @param powerUpRate the percentage chance per tick of a power-up
+     * @return the number of objects to spawn
+     */
+    public int next(double asteroidRate, double enemyRate, double powerUpRate) {
+        if (step < batchStart || step >= batchStart + batchLength
+                || asteroidRate != this.asteroidRate || enemyRate != this.enemyRate
+                || powerUpRate != this.powerUpRate) {
+            planBatch(asteroidRate, enemyRate, powerUpRate);
+        }
+        int index = (int) (step - batchStart);
+        current = stepStarts[index];
+        step++;
+        return stepStarts[index + 1] - current;
+    }
+
+    /**
+     * Gets the EntityType id of one of the objects to spawn on the last planned tick.
+     *
+     * @param index the object, from 0 to the count returned by next()
+     * @return the type of the object
+     */
+    public byte getType(int index) {
+        return types[current + index];
+    }
+
+    /**
+     * Gets the column of one of the objects to spawn on the last planned tick.
+     *
+     * @param index the object, from 0 to the count returned by next()
+     * @return the x coordinate of the object
+     */
+    public int getX(int index) {
+        return xs[current + index];
+    }
+
+    /**
+     * Gets the step number of the next tick to be planned.
+     *
+     * @return the number of ticks planned so far
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Sets the step number of the next tick to be planned, such as when resuming a saved game.
+     *
+     * @param step the step number (cannot be negative)
+     * @throws IllegalArgumentException if the step is negative
+     */
+    public void setStep(long step) {
+        if (step < 0) {
+            throw new IllegalArgumentException("Step cannot be negative");
+        }
+        this.step = step;
+    }
+
+    /**
+     * Gets the generator the planner decides with.
+     *
+     * @return the generator
+     */
+    public CounterRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Plans batchTicks ticks starting from the current step.
+     *
+     * @param asteroidRate the percentage chance per tick of an asteroid
+     * @param enemyRate the percentage chance per tick of an enemy
+     * @param powerUpRate the percentage chance per tick of a power-up
+     */
+    private void planBatch(double asteroidRate, double enemyRate, double powerUpRate) {
+        this.asteroidRate = asteroidRate;
+        this.enemyRate = enemyRate;
+        this.powerUpRate = powerUpRate;
+        setRate(0, asteroidRate);
+        setRate(1, enemyRate);
+        setRate(2, powerUpRate);
+        batchStart = step;
+        batchLength = batchTicks;
+        planned = 0;
+
+        for (int i = 0; i < batchTicks; i++) {
+            stepStarts[i] = planned;
+            planStep(batchStart + i);
+        }
+        stepStarts[batchTicks] = planned;
+    }
+
+    /**
+     * Plans the spawns for one tick.
+     *
+     * @param stepNumber the step number of the tick
+     */
+    private void planStep(long stepNumber) {
+        long stepKey = random.counterKey(stepNumber);
+        long decisions = CounterRandom.slot(stepKey, COUNT_SLOT);
+        int asteroids = count(0, decisions);
+        int enemies = count(1, decisions >>> DECISION_BITS);
+        int powerUps = count(2, decisions >>> (2 * DECISION_BITS));
+        ensureCapacity(planned + asteroids + enemies + powerUps);
+
+        int object = 0;
+        for (int i = 0; i < asteroids; i++) {
+            add(CounterRandom.slot(stepKey, FIRST_OBJECT_SLOT + object++), EntityType.ASTEROID);
+        }
+        for (int i = 0; i < enemies; i++) {
+            add(CounterRandom.slot(stepKey, FIRST_OBJECT_SLOT + object++), EntityType.ENEMY);
+        }
+        for (int i = 0; i < powerUps; i++) {
+            long value = CounterRandom.slot(stepKey, FIRST_OBJECT_SLOT + object++);
+            add(value, (value & 1) == 0 ? EntityType.SHIELD_POWER_UP : EntityType.HEALTH_POWER_UP);
+        }
+    }
+
+    /**
+     * Splits a kind's rate into the objects spawned every tick and the chance of one more,
+     * as a threshold for the kind's random decision bits.
+     *
+     * @param kind 0 for asteroids, 1 for enemies, 2 for power-ups
+     * @param rate the kind's percentage chance per tick
+     */
+    private void setRate(int kind, double rate) {
+        double expected = rate > 0 ? rate / 100 : 0;
+        int whole = (int) Math.min(expected, Integer.MAX_VALUE);
+        wholeSpawns[kind] = whole;
+        extraThresholds[kind] = (long) ((expected - whole) * DECISION_SCALE);
+    }
+
+    /**
+     * Decides how many objects of one kind spawn on a tick.
+     *
+     * @param kind 0 for asteroids, 1 for enemies, 2 for power-ups
+     * @param decision random bits, of which the lowest DECISION_BITS are used
+     * @return the number to spawn
+     */
+    private int count(int kind, long decision) {
+        return wholeSpawns[kind] + ((decision & DECISION_MASK) < extraThresholds[kind] ? 1 : 0);
+    }
+
+    /**
+     * Adds an object to the plan, in a column chosen by the high bits of a random value.
+     *
+     * @param value the object's random value
+     * @param type the object's EntityType id
+     */
+    private void add(long value, byte type) {
+        types[planned] = type;
+        xs[planned] = (int) (((value >>> 32) * width) >>> 32);
+        planned++;
+    }
+
+    /**
+     * Grows the plan so it can hold at least the given number of spawns.
+     *
+     * @param capacity the number of spawns to hold
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > types.length) {
+            int length = Math.max(capacity, types.length * 2);
+            types = Arrays.copyOf(types, length);
+            xs = Arrays.copyOf(xs, length);
+        }
+    }
+}
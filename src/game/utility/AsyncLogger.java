@@ -0,0 +1,316 @@
+package game.utility;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logger that hands messages to a background thread instead of logging them on the caller's.
+ *
+ * Messages are placed on a bounded, lock-free ring buffer that any number of threads may log to.
+ * Formatted messages are stored as their pattern and primitive arguments, and only turned into
+ * text on the drain thread, which passes them to the wrapped logger in batches. Messages below
+ * the minimum level are discarded before anything is stored. When the buffer is full, messages
+ * are either dropped and counted, or the caller waits for space, depending on the policy.
+ * A message that fails to format or log is counted and skipped, so the drain thread keeps going.
+ */
+public class AsyncLogger implements Logger, AutoCloseable {
+    private static final int BATCH_SIZE = 256; // Most messages logged before checking for close
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long CLOSED = Long.MIN_VALUE; // Tail bit set on close to stop claims
+
+    /**
+     * What to do with a message logged while the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Discard the message and count it as dropped.
+         */
+        DROP,
+
+        /**
+         * Wait on the caller's thread until the drain thread frees a slot.
+         */
+        BLOCK
+    }
+
+    private final Logger delegate;
+    private final LogLevel minimumLevel;
+    private final OverflowPolicy policy;
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread drainThread;
+
+    private long head; // Only read and written by the drain thread
+    private long closeTail; // The tail when closed, written before closed is set
+    private volatile boolean closed;
+
+    /**
+     * Creates a logger and starts its drain thread.
+     *
+     * @param delegate the logger messages are passed to on the drain thread
+     * @param capacity the number of messages the buffer can hold, rounded up to a power of two
+     * @param minimumLevel the least severe level that is logged
+     * @param policy what to do when the buffer is full
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public AsyncLogger(Logger delegate, int capacity, LogLevel minimumLevel,
+                       OverflowPolicy policy) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(size, 1);
+
+        this.delegate = delegate;
+        this.minimumLevel = minimumLevel;
+        this.policy = policy;
+        this.entries = new Entry[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+
+        this.drainThread = new Thread(this::drain, "async-logger");
+        this.drainThread.setDaemon(true);
+        this.drainThread.start();
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(minimumLevel) >= 0;
+    }
+
+    @Override
+    public void log(String text) {
+        if (isEnabled(LogLevel.INFO)) {
+            Entry entry = claim();
+            if (entry != null) {
+                entry.text = text;
+                publish(entry);
+            }
+        }
+    }
+
+    @Override
+    public void log(LogLevel level, String format, long arg) {
+        log(level, format, Entry.ONE_LONG, arg, 0, 0);
+    }
+
+    @Override
+    public void log(LogLevel level, String format, long first, long second) {
+        log(level, format, Entry.TWO_LONGS, first, second, 0);
+    }
+
+    @Override
+    public void log(LogLevel level, String format, long first, double second) {
+        log(level, format, Entry.LONG_DOUBLE, first, 0, second);
+    }
+
+    /**
+     * Stores a formatted message to be built on the drain thread.
+     *
+     * @param level the level of the message
+     * @param format the String.format() pattern of the message
+     * @param kind which arguments the pattern takes
+     * @param first the first whole number argument
+     * @param second the second whole number argument
+     * @param decimal the decimal argument
+     */
+    private void log(LogLevel level, String format, int kind, long first, long second,
+                     double decimal) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Entry entry = claim();
+        if (entry != null) {
+            entry.text = format;
+            entry.kind = kind;
+            entry.first = first;
+            entry.second = second;
+            entry.decimal = decimal;
+            publish(entry);
+        }
+    }
+
+    /**
+     * Claims the next free slot of the buffer for the calling thread.
+     * Once the logger is closed, nothing is claimed and the message is counted as dropped.
+     *
+     * @return the claimed entry, or null if the message is dropped
+     */
+    private Entry claim() {
+        if (closed) {
+            dropped.incrementAndGet();
+            return null;
+        }
+        while (true) {
+            long position = tail.get();
+            if (position < 0) {
+                // Closed since the check above
+                dropped.incrementAndGet();
+                return null;
+            }
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Entry entry = entries[index];
+                    entry.position = position;
+                    return entry;
+                }
+            } else if (sequence < position) {
+                // The slot still holds a message from the previous lap, so the buffer is full
+                if (policy == OverflowPolicy.DROP) {
+                    dropped.incrementAndGet();
+                    return null;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Makes a filled entry visible to the drain thread.
+     *
+     * @param entry the entry to publish
+     */
+    private void publish(Entry entry) {
+        sequences.set((int) entry.position & mask, entry.position + 1);
+    }
+
+    /**
+     * Passes messages to the wrapped logger until closed, then logs every message claimed
+     * before closing, waiting for any still being written.
+     */
+    private void drain() {
+        while (!closed) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        while (head < closeTail) {
+            if (drainBatch() == 0) {
+                Thread.yield(); // A claimed message has not been published yet
+            }
+        }
+    }
+
+    /**
+     * Logs up to a batch of published messages, in the order they were claimed.
+     *
+     * @return the number of messages logged
+     */
+    private int drainBatch() {
+        int count = 0;
+        while (count < BATCH_SIZE) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+
+            Entry entry = entries[index];
+            String message = null;
+            try {
+                message = entry.format();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet(); // Such as a bad format pattern
+            }
+            entry.text = null;
+            entry.kind = Entry.TEXT;
+            sequences.set(index, head + entries.length);
+            head++;
+            count++;
+
+            if (message != null) {
+                try {
+                    delegate.log(message);
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of messages dropped because the buffer was full.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of messages that could not be formatted, or that the wrapped logger
+     * threw an exception for.
+     *
+     * @return the number of failed messages
+     */
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Stops the drain thread once every message logged so far has been passed on,
+     * including messages still being written by other threads when close was called.
+     * Messages logged after closing are dropped.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closeTail = tail.getAndAdd(CLOSED);
+            closed = true;
+        }
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A slot of the ring buffer, reused for every message stored in it.
+     */
+    private static final class Entry {
+        static final int TEXT = 0;
+        static final int ONE_LONG = 1;
+        static final int TWO_LONGS = 2;
+        static final int LONG_DOUBLE = 3;
+
+        long position;
+        String text;
+        int kind = TEXT;
+        long first;
+        long second;
+        double decimal;
+
+        /**
+         * Builds the text of the stored message.
+         *
+         * @return the message text
+         */
+        String format() {
+            switch (kind) {
+                case ONE_LONG:
+                    return String.format(text, first);
+                case TWO_LONGS:
+                    return String.format(text, first, second);
+                case LONG_DOUBLE:
+                    return String.format(text, first, decimal);
+                default:
+                    return text;
+            }
+        }
+    }
+}
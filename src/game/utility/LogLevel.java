@@ -0,0 +1,11 @@
+package game.utility;
+
+/**
+ * Severity of a logged message, from least to most severe.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR
+}
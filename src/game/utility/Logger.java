@@ -2,6 +2,10 @@ package game.utility;
 
 /**
  * Functional interface for logging game events and messages.
+ *
+ * The formatted overloads take a String.format() pattern and primitive arguments, so
+ * loggers that filter or defer messages can skip building the text on the caller's thread.
+ * By default they format straight away and pass the text to log(String).
  */
 public interface Logger {
 
@@ -11,4 +15,55 @@ public interface Logger {
      * @param text the message to log
      */
     void log(String text);
+
+    /**
+     * Checks if messages of the given level would be logged.
+     *
+     * @param level the level to check
+     * @return true if messages of the level are logged, false otherwise
+     */
+    default boolean isEnabled(LogLevel level) {
+        return true;
+    }
+
+    /**
+     * Logs a message built from a format pattern and one argument.
+     *
+     * @param level the level of the message
+     * @param format the String.format() pattern of the message
+     * @param arg the argument of the pattern
+     */
+    default void log(LogLevel level, String format, long arg) {
+        if (isEnabled(level)) {
+            log(String.format(format, arg));
+        }
+    }
+
+    /**
+     * Logs a message built from a format pattern and two arguments.
+     *
+     * @param level the level of the message
+     * @param format the String.format() pattern of the message
+     * @param first the first argument of the pattern
+     * @param second the second argument of the pattern
+     */
+    default void log(LogLevel level, String format, long first, long second) {
+        if (isEnabled(level)) {
+            log(String.format(format, first, second));
+        }
+    }
+
+    /**
+     * Logs a message built from a format pattern, a whole number and a decimal.
+     *
+     * @param level the level of the message
+     * @param format the String.format() pattern of the message
+     * @param first the first argument of the pattern
+     * @param second the second argument of the pattern
+     */
+    default void log(LogLevel level, String format, long first, double second) {
+        if (isEnabled(level)) {
+            log(String.format(format, first, second));
+        }
+    }
 }
@@ -0,0 +1,61 @@
+package game.utility;
+
+import java.util.Random;
+
+/**
+ * A java.util.Random whose internal state can be read and restored.
+ * Produces exactly the same numbers as Random for the same seed, so it can replace
+ * Random without changing seeded games, and lets a game be saved and resumed mid-sequence.
+ */
+public class StatefulRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // Set by setSeed() during Random's constructor, so never initialised here
+
+    /**
+     * Creates a generator with an unpredictable seed, as Random() does.
+     */
+    public StatefulRandom() {
+        super();
+    }
+
+    /**
+     * Seeds the generator as Random.setSeed() does, discarding any cached nextGaussian().
+     *
+     * @param seed the seed
+     */
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Gets the generator's internal state.
+     *
+     * @return the current state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state returned by getState(), so the generator continues from that point.
+     * Discards any cached nextGaussian(), which is not part of the state.
+     *
+     * @param state the state to restore
+     */
+    public void setState(long state) {
+        super.setSeed(state); // Only to clear the cached nextGaussian()
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,38 @@
+package game.ui;
+
+/**
+ * Stand-in for the course library's ObjectGraphic: how an object is drawn.
+ */
+public class ObjectGraphic {
+    private final String text;
+    private final String imagePath;
+
+    /**
+     * Creates a graphic.
+     *
+     * @param text the text drawn when the image cannot be shown
+     * @param imagePath the path of the image to draw
+     */
+    public ObjectGraphic(String text, String imagePath) {
+        this.text = text;
+        this.imagePath = imagePath;
+    }
+
+    /**
+     * Gets the fallback text.
+     *
+     * @return the text
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the image path.
+     *
+     * @return the image path
+     */
+    public String getImagePath() {
+        return imagePath;
+    }
+}
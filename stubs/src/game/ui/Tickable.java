@@ -0,0 +1,13 @@
+package game.ui;
+
+/**
+ * Stand-in for the course library's Tickable: something advanced once per game tick.
+ */
+public interface Tickable {
+    /**
+     * Advances by one tick.
+     *
+     * @param tick the tick number
+     */
+    void tick(int tick);
+}
@@ -0,0 +1,51 @@
+package game.ui;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for the course library's UI: the window the game draws to and reads keys from.
+ * Only declares what the game calls, so the game compiles without the library.
+ */
+public interface UI {
+    /**
+     * Registers the callback run once per tick.
+     *
+     * @param tickable the callback
+     */
+    void onStep(Tickable tickable);
+
+    /**
+     * Registers the callback run for each key press.
+     *
+     * @param key the callback, given the key pressed
+     */
+    void onKey(Consumer<String> key);
+
+    /**
+     * Draws the given objects.
+     *
+     * @param objects the objects to draw
+     */
+    void render(List<?> objects);
+
+    /**
+     * Shows a labelled statistic.
+     *
+     * @param label the statistic's label
+     * @param value the statistic's value
+     */
+    void setStat(String label, String value);
+
+    /**
+     * Shows a message in the log panel.
+     *
+     * @param message the message
+     */
+    void log(String message);
+
+    /**
+     * Pauses or resumes the tick loop.
+     */
+    void pause();
+}
@@ -0,0 +1,11 @@
+package game.utility;
+
+/**
+ * Stand-in for the course library's Direction.
+ */
+public enum Direction {
+    UP,
+    DOWN,
+    LEFT,
+    RIGHT
+}
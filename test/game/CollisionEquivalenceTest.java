@@ -0,0 +1,204 @@
+package game;
+
+import game.collision.BandedCollisionDetector;
+import game.collision.BruteForceCollisionDetector;
+import game.collision.CollisionDetector;
+import game.collision.LayeredCollisionDetector;
+import game.collision.SpatialHashCollisionDetector;
+import game.config.GameRules;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.utility.Direction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that seeded games play out the same whichever collision detector or ticker is used.
+ */
+public class CollisionEquivalenceTest {
+    private static final int WIDTH = 6; // Narrow and short, so objects often share a cell
+    private static final int HEIGHT = 12;
+    private static final int BANDS = 3;
+    private static final int TICKS = 2_000;
+    private static final long[] SEEDS = {1, 2, 3, 2024, 90_210};
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(BANDS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Creates a seeded game on a small board that spawns often, with the ship added.
+     *
+     * @param seed the game's random seed
+     * @return the game
+     */
+    private static GameModel createGame(long seed) {
+        Properties properties = new Properties();
+        properties.setProperty("board.width", String.valueOf(WIDTH));
+        properties.setProperty("board.height", String.valueOf(HEIGHT));
+        properties.setProperty("spawn.startRate", "40");
+        GameModel model = new GameModel(text -> { }, new Ship(WIDTH / 2, HEIGHT - 1, Ship.MAX_HEALTH),
+                GameRules.fromProperties(properties));
+        model.setEffectLogger(text -> { });
+        model.setRandomSeed((int) seed);
+        model.addObject(model.getShip());
+        return model;
+    }
+
+    /**
+     * Plays a game, moving the ship at random from a second seeded stream and firing on
+     * every other tick, and records its state after every tick.
+     *
+     * @param model the game
+     * @param seed the seed of the ship's moves
+     * @param beforeCollisions called with the game's objects just before each collision check
+     * @return the state of the game after each tick
+     */
+    private static List<String> play(GameModel model, long seed,
+                                     Consumer<List<SpaceObject>> beforeCollisions) {
+        Random moves = new Random(seed);
+        Direction[] directions = Direction.values();
+        List<String> states = new ArrayList<>(TICKS);
+        for (int tick = 0; tick < TICKS; tick++) {
+            int choice = moves.nextInt(directions.length + 1);
+            if (choice < directions.length) {
+                model.getShip().tryMove(directions[choice], WIDTH, HEIGHT);
+            }
+            if (tick % 2 == 0) {
+                model.fireBullet();
+            }
+            model.updateGame(tick);
+            beforeCollisions.accept(model.getSpaceObjectsView());
+            model.checkCollisions();
+            model.spawnObjects();
+            states.add(describe(model));
+        }
+        return states;
+    }
+
+    /**
+     * Describes every object in the game in list order, and the ship's state.
+     *
+     * @param model the game
+     * @return the description
+     */
+    private static String describe(GameModel model) {
+        StringBuilder state = new StringBuilder();
+        for (SpaceObject object : model.getSpaceObjects()) {
+            state.append(object.getTypeId()).append('@')
+                    .append(object.getX()).append(',').append(object.getY()).append(' ');
+        }
+        Ship ship = model.getShip();
+        return state.append("score=").append(ship.getScore())
+                .append(" health=").append(ship.getHealth())
+                .append(" level=").append(model.getLevel()).toString();
+    }
+
+    /**
+     * Gets every pair a detector reports for the objects, in ascending order.
+     *
+     * @param detector the detector
+     * @param objects the objects to check
+     * @return the pairs, each packed as the first index in the high half and the second in the low
+     */
+    private static List<Long> detectPairs(CollisionDetector detector, List<SpaceObject> objects) {
+        List<Long> pairs = new ArrayList<>();
+        detector.detect(objects, (first, second) -> pairs.add((long) first << 32 | second));
+        Collections.sort(pairs);
+        return pairs;
+    }
+
+    /**
+     * Checks whether either object of a pair is on a layer the other collides with.
+     *
+     * @param objects the objects
+     * @param pair the pair, packed as by detectPairs()
+     * @return true if the pair can have an effect
+     */
+    private static boolean interacts(List<SpaceObject> objects, long pair) {
+        SpaceObject first = objects.get((int) (pair >>> 32));
+        SpaceObject second = objects.get((int) pair);
+        return (first.getCollisionMask() & second.getCollisionLayer()) != 0
+                || (second.getCollisionMask() & first.getCollisionLayer()) != 0;
+    }
+
+    @Test
+    public void everyDetectorPlaysTheSameGame() {
+        for (long seed : SEEDS) {
+            GameModel reference = createGame(seed);
+            reference.setCollisionDetector(new BruteForceCollisionDetector());
+            List<String> expected = play(reference, seed, objects -> { });
+            assertTrue(reference.getCollisionHits() > 0, "Seed " + seed + " should have collisions");
+
+            CollisionDetector[] detectors = {
+                new SpatialHashCollisionDetector(WIDTH, HEIGHT),
+                new LayeredCollisionDetector(),
+                new BandedCollisionDetector(pool, BANDS, WIDTH, HEIGHT)
+            };
+            for (CollisionDetector detector : detectors) {
+                GameModel model = createGame(seed);
+                model.setCollisionDetector(detector);
+                assertEquals(expected, play(model, seed, objects -> { }),
+                        detector.getClass().getSimpleName() + " with seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void parallelBandsMatchSequentialUpdates() {
+        for (long seed : SEEDS) {
+            GameModel sequential = createGame(seed);
+            List<String> expected = play(sequential, seed, objects -> { });
+
+            GameModel banded = createGame(seed);
+            banded.useParallelBands(pool, BANDS);
+            assertEquals(expected, play(banded, seed, objects -> { }), "Seed " + seed);
+        }
+    }
+
+    @Test
+    public void detectorsReportTheBruteForcePairs() {
+        CollisionDetector bruteForce = new BruteForceCollisionDetector();
+        CollisionDetector spatialHash = new SpatialHashCollisionDetector(WIDTH, HEIGHT);
+        CollisionDetector layered = new LayeredCollisionDetector();
+        CollisionDetector banded = new BandedCollisionDetector(pool, BANDS, WIDTH, HEIGHT);
+        for (long seed : SEEDS) {
+            long[] reported = new long[1];
+            play(createGame(seed), seed, objects -> {
+                List<Long> expected = detectPairs(bruteForce, objects);
+                reported[0] += expected.size();
+                assertEquals(expected, detectPairs(spatialHash, objects), "Spatial hash, seed " + seed);
+                assertEquals(expected, detectPairs(banded, objects), "Banded, seed " + seed);
+
+                List<Long> interacting = new ArrayList<>();
+                for (long pair : expected) {
+                    if (interacts(objects, pair)) {
+                        interacting.add(pair);
+                    }
+                }
+                assertEquals(interacting, detectPairs(layered, objects), "Layered, seed " + seed);
+            });
+            assertTrue(reported[0] > 0, "Seed " + seed + " should have overlapping pairs");
+        }
+    }
+}
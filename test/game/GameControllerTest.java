@@ -0,0 +1,59 @@
+package game;
+
+import game.input.CommandQueue;
+import game.ui.UI;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks how the controller handles player input.
+ */
+public class GameControllerTest {
+    private boolean looping = true; // Whether the stub UI's tick loop is running
+
+    /**
+     * Creates a UI that draws nothing, and whose pause() stops or restarts its tick loop
+     * as the real UI's does.
+     *
+     * @return the stub UI
+     */
+    private UI createLoopingUi() {
+        return (UI) Proxy.newProxyInstance(UI.class.getClassLoader(), new Class<?>[] {UI.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("pause")) {
+                        looping = !looping;
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("equals") ? proxy == args[0]
+                                : method.getName().equals("hashCode")
+                                ? System.identityHashCode(proxy) : "StubUI";
+                    }
+                    return null;
+                });
+    }
+
+    @Test
+    public void queuedPauseCanBeResumed() {
+        GameModel model = new GameModel(text -> { });
+        model.setEffectLogger(text -> { });
+        GameController controller = new GameController(createLoopingUi(), model, text -> { });
+        controller.setCommandQueue(new CommandQueue());
+        controller.startGame();
+
+        controller.handlePlayerInput("P");
+        assertFalse(looping, "First P should stop the tick loop");
+
+        controller.handlePlayerInput("P");
+        assertTrue(looping, "Second P should restart the tick loop without a tick running");
+
+        controller.handlePlayerInput("F");
+        int objects = model.getObjectCount();
+        controller.onTick(1);
+        assertEquals(objects + 1, model.getObjectCount(), "Queued commands should apply again");
+    }
+}
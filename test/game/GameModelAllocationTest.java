@@ -0,0 +1,93 @@
+package game;
+
+import game.config.GameRules;
+import game.core.EntityType;
+import game.core.SpaceObject;
+import game.pool.EntityPools;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that a game in a steady state allocates nothing per tick once warmed up.
+ */
+public class GameModelAllocationTest {
+    private static final int WARM_UP_TICKS = 20_000; // Enough for the JIT to compile a tick
+    private static final int MEASURED_TICKS = 10_000;
+    private static final int SPARE_OBJECTS = 1_000; // Pooled per type, well above the game's peak
+
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeEach
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "JVM cannot count allocated bytes");
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot count allocated bytes");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Creates a pooled, seeded game that spawns often and never spawns power-ups, which stay
+     * on the board, so objects leave as fast as they arrive. The pools are filled up front,
+     * so a tick that reaches a new peak of objects still takes them from a pool.
+     *
+     * @return the game, with the ship added
+     */
+    private static GameModel createSteadyGame() {
+        Properties properties = new Properties();
+        properties.setProperty("spawn.startRate", "60");
+        properties.setProperty("spawn.powerUpRatio", "0");
+        GameModel model = new GameModel(text -> { }, GameRules.fromProperties(properties));
+        model.setRandomSeed(2002);
+        model.setObjectPooling(true);
+        model.addObject(model.getShip());
+
+        EntityPools pools = model.getObjectPools();
+        SpaceObject[] spare = new SpaceObject[SPARE_OBJECTS];
+        for (byte type : new byte[] {EntityType.BULLET, EntityType.ASTEROID, EntityType.ENEMY}) {
+            for (int i = 0; i < spare.length; i++) {
+                spare[i] = pools.acquire(type, 0, 0);
+            }
+            for (SpaceObject object : spare) {
+                pools.release(object);
+            }
+        }
+        return model;
+    }
+
+    /**
+     * Plays the given ticks of a game: updates, collisions, spawns, and a bullet every tick.
+     *
+     * @param model the game
+     * @param from the first tick
+     * @param count the number of ticks
+     */
+    private static void play(GameModel model, int from, int count) {
+        for (int tick = from; tick < from + count; tick++) {
+            model.fireBullet();
+            model.updateGame(tick);
+            model.checkCollisions();
+            model.spawnObjects();
+        }
+    }
+
+    @Test
+    public void steadyTicksAllocateNothing() {
+        GameModel model = createSteadyGame();
+        play(model, 0, WARM_UP_TICKS);
+        assertTrue(model.getObjectCount() > 1, "Game should have objects other than the ship");
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        play(model, WARM_UP_TICKS, MEASURED_TICKS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(0, allocated, "Bytes allocated over " + MEASURED_TICKS + " ticks");
+    }
+}